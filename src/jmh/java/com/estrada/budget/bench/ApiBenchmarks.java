@@ -0,0 +1,111 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.api.BudgetApiServer;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.util.JsonPersistence;
+import com.estrada.budget.util.PersistenceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Localhost load on BudgetApiServer: several client threads sending GET /summary or
+ * POST /transactions over keep-alive connections. Client and server share the forked JVM, so
+ * the numbers are for the whole round trip on one machine. POSTs wait for the journal fsync
+ * (shared between concurrent posts), which lands under target/jmh-home, never your real data.
+ * Each post also waits out the writer's 100 ms coalescing window, so POST throughput grows with
+ * the number of clients: 64 by default, change it with -t. The trial ends by checking every
+ * acknowledged post is in the budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Duser.home=target/jmh-home"})
+public class ApiBenchmarks {
+
+    private static final String TRANSACTION = "{\"amountCents\":1234,\"date\":\"" + BenchmarkData.LAST_DAY
+            + "\",\"description\":\"HEB #0412 SALADO TX\",\"category\":\"Groceries\"}";
+
+    private Budget budget;
+    private PersistenceService persistence;
+    private BudgetApiServer server;
+    private HttpClient client;
+    private HttpRequest summary;
+    private HttpRequest post;
+    private int baseline;
+    private final LongAdder posted = new LongAdder();
+
+    @Setup
+    public void setUp() throws IOException {
+        budget = BenchmarkData.budget(10_000);
+        baseline = budget.getTransactions().size();
+        persistence = new PersistenceService(new JsonPersistence(), budget,
+                e -> System.err.println("Benchmark write failed: " + e.getMessage()));
+        persistence.save().join();
+
+        server = new BudgetApiServer(persistence, null, null);
+        server.start("127.0.0.1", 0);
+        String base = "http://127.0.0.1:" + server.getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        summary = HttpRequest.newBuilder(URI.create(base + "/summary?month=" + YearMonth.from(BenchmarkData.LAST_DAY)))
+                .build();
+        post = HttpRequest.newBuilder(URI.create(base + "/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(TRANSACTION))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        persistence.shutdown(10, TimeUnit.SECONDS);
+        client.close();
+        if (budget.getTransactions().size() != baseline + posted.sum()) {
+            throw new IllegalStateException("Lost posts: " + posted.sum() + " acknowledged, "
+                    + (budget.getTransactions().size() - baseline) + " in the budget");
+        }
+    }
+
+    @Benchmark
+    public String getSummary() throws IOException, InterruptedException {
+        return send(summary, 200);
+    }
+
+    /** One transaction per request; answered once it is durable. */
+    @Benchmark
+    public String postTransaction() throws IOException, InterruptedException {
+        String body = send(post, 201);
+        posted.increment();
+        return body;
+    }
+
+    private String send(HttpRequest request, int expected) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException(request.method() + " " + request.uri().getPath()
+                    + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
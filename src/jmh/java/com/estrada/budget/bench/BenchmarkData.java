@@ -0,0 +1,132 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.Transaction;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible synthetic data for the benchmarks: the same seed always gives the same
+ * transactions, statements and budgets, so runs on different machines or commits compare.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20260101L;
+
+    // Fixed rather than today, so the data does not drift between runs
+    public static final LocalDate LAST_DAY = LocalDate.of(2026, 6, 30);
+    // Budgets built here live on LAST_DAY, so the current month holds the newest history
+    public static final Clock CLOCK = Clock.fixed(LAST_DAY.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault());
+    public static final int HISTORY_DAYS = 3 * 365;
+
+    // Statement-style descriptions; most match a categorizer rule, some do not
+    private static final String[] MERCHANTS = {
+            "HEB #0%d SALADO TX", "WAL-MART SUPERCENTER #%d", "AMAZON MKTPLACE PMTS %d", "NETFLIX.COM %d",
+            "WHATABURGER %d BELTON TX", "T-MOBILE AUTOPAY %d", "BANFIELD PET HOSPITAL %d", "TXU ENERGY %d",
+            "SAMS CLUB #%d", "CHICK-FIL-A #0%d", "SHELL OIL %d", "HOME DEPOT #%d", "LOWES #0%d"
+    };
+    private static final String[] INCOME = {"DFAS NET PAY %d", "GREENSTATE PAYROLL %d", "IRS TREAS 310 %d"};
+
+    private static final String[] EXPENSE_CATEGORIES = {
+            "Groceries", "Amazon / Online Shopping", "Subscriptions & Streaming", "Dining Out / Fast Food",
+            "T-Mobile", "Pet Care", "Utilities", "Mortgage", "Credit Card Payments", "Miscellaneous"
+    };
+    private static final String[] INCOME_CATEGORIES = {
+            "Javier's Military Retirement", "Alesha's Payroll", "Tax Refunds / Other Income"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * {@code count} transactions spread over the HISTORY_DAYS ending on LAST_DAY, in random
+     * date order (as imports arrive); about one in ten is income.
+     */
+    public static List<Transaction> transactions(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(random));
+        }
+        return transactions;
+    }
+
+    public static Transaction transaction(SplittableRandom random) {
+        LocalDate date = LAST_DAY.minusDays(random.nextInt(HISTORY_DAYS));
+        boolean income = random.nextInt(10) == 0;
+        String[] descriptions = income ? INCOME : MERCHANTS;
+        String[] categories = income ? INCOME_CATEGORIES : EXPENSE_CATEGORIES;
+        String description = String.format(descriptions[random.nextInt(descriptions.length)], random.nextInt(1, 100));
+        long cents = income ? random.nextLong(500_00, 4500_00) : random.nextLong(1_00, 400_00);
+        Transaction t = new Transaction(cents, date, description,
+                income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                categories[random.nextInt(categories.length)]);
+        if (random.nextInt(20) == 0) {
+            t.setRecurring(true);
+            t.setRecurrenceType(Transaction.RecurrenceType.MONTHLY);
+        }
+        return t;
+    }
+
+    /** A default budget holding {@code count} synthetic transactions. */
+    public static Budget budget(int count) {
+        return budget(transactions(count, SEED), false);
+    }
+
+    public static Budget budget(List<Transaction> transactions, boolean columnar) {
+        Budget budget = pinnedBudget();
+        budget.setColumnarStorage(columnar);
+        budget.addTransactions(transactions);
+        return budget;
+    }
+
+    /** An empty default budget whose "today" is LAST_DAY (current month June 2026). */
+    public static Budget pinnedBudget() {
+        Budget budget = new Budget();
+        budget.setClock(CLOCK);
+        budget.setCurrentMonth(YearMonth.from(LAST_DAY));
+        return budget;
+    }
+
+    /** Descriptions only, for categorizer runs. */
+    public static String[] descriptions(int count, long seed) {
+        List<Transaction> transactions = transactions(count, seed);
+        String[] descriptions = new String[count];
+        for (int i = 0; i < count; i++) {
+            descriptions[i] = transactions.get(i).getDescription();
+        }
+        return descriptions;
+    }
+
+    /**
+     * Writes {@code rows} synthetic transactions as an RBFCU checking export
+     * (Post Date, Check, Description, Debit, Credit, Status, Balance).
+     */
+    public static Path rbfcuCsv(int rows, long seed, Path file) throws IOException {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("M/d/yyyy");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("Post Date,Check,Description,Debit,Credit,Status,Balance\n");
+            for (Transaction t : transactions(rows, seed)) {
+                String amount = Money.format(t.getAmountCents());
+                boolean income = t.getType() == Transaction.TransactionType.INCOME;
+                out.write(t.getDate().format(format) + ",,\"" + t.getDescription() + "\","
+                        + (income ? "" : "-" + amount) + "," + (income ? amount : "") + ",Posted,\n");
+            }
+        }
+        return file;
+    }
+}
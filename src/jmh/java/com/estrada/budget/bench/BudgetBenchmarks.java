@@ -0,0 +1,123 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.PeriodSummary;
+import com.estrada.budget.model.RollupCube;
+import com.estrada.budget.model.Transaction;
+import com.estrada.budget.model.TransactionLedger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory Budget operations against histories of 1k, 100k and 1M transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BudgetBenchmarks {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private List<Transaction> history;
+    private Budget budget;
+    private Transaction today;
+    private Transaction backDated;
+
+    @Setup
+    public void setUp() {
+        history = BenchmarkData.transactions(size, BenchmarkData.SEED);
+        budget = BenchmarkData.budget(history, columnar);
+        // The budget's current month is LAST_DAY's, so summaries read a month of real history
+        today = new Transaction(12_34, BenchmarkData.LAST_DAY, "HEB #0412 SALADO TX",
+                Transaction.TransactionType.EXPENSE, "Groceries");
+        backDated = new Transaction(12_34, BenchmarkData.LAST_DAY.minusDays(200), "HEB #0412 SALADO TX",
+                Transaction.TransactionType.EXPENSE, "Groceries");
+    }
+
+    /** Add then remove, so the history stays the same size across invocations. */
+    @Benchmark
+    public boolean addTransaction() {
+        budget.addTransaction(today);
+        return budget.removeTransaction(today);
+    }
+
+    /** Same, into a closed month in the middle of the history (archived partition). */
+    @Benchmark
+    public boolean addBackDatedTransaction() {
+        budget.addTransaction(backDated);
+        return budget.removeTransaction(backDated);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Map<String, Object> getMonthlySummary() {
+        return budget.getMonthlySummary();
+    }
+
+    @Benchmark
+    public MonthlySummary summarize() {
+        return budget.summarize();
+    }
+
+    @Benchmark
+    public PeriodSummary trailingTwelveMonths() {
+        return budget.trailingTwelveMonths(YearMonth.from(BenchmarkData.LAST_DAY));
+    }
+
+    @Benchmark
+    public RollupCube rollupThreeYears() {
+        YearMonth to = YearMonth.from(BenchmarkData.LAST_DAY);
+        return budget.rollup(to.minusMonths(35), to);
+    }
+
+    @Benchmark
+    public int transactionsInOneMonth() {
+        YearMonth month = YearMonth.from(BenchmarkData.LAST_DAY);
+        return budget.transactionsBetween(month.atDay(1), month.atEndOfMonth()).size();
+    }
+
+    /** Opening the ledger pop-up: whole history, newest first, then the first screenful. */
+    @Benchmark
+    public List<Transaction> ledgerFirstPage() {
+        return budget.ledger(null, null, true).rows(0, 256);
+    }
+
+    /** Filtering the ledger to one category's expenses scans every month's rows once. */
+    @Benchmark
+    public TransactionLedger ledgerFiltered() {
+        return budget.ledger("Groceries", Transaction.TransactionType.EXPENSE, true);
+    }
+
+    /** Building the whole budget from scratch, as a bulk import or load does. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public Budget addTransactionsBulk() {
+        return BenchmarkData.budget(history, columnar);
+    }
+}
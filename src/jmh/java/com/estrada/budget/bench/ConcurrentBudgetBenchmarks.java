@@ -0,0 +1,115 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stress check for the thread-safe Budget: many threads adding at once while others read
+ * summaries. Every iteration ends by checking the totals are exact (no lost updates), and
+ * readers fail the run if they ever see a summary whose parts disagree (a torn read).
+ * A failed check throws, which JMH reports as a benchmark error. The budget's clock is pinned to
+ * a fixed day, so an iteration that runs across a month boundary checks the same totals (the same
+ * scenario also runs as BudgetConcurrencyTest under mvn test).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentBudgetBenchmarks {
+
+    private static final long AMOUNT = 1_00;
+    private static final String CATEGORY = "Groceries";
+    private static final LocalDate DAY = BenchmarkData.LAST_DAY;
+
+    @State(Scope.Group)
+    public static class Shared {
+        Budget budget;
+        final LongAdder added = new LongAdder();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            budget = BenchmarkData.pinnedBudget();
+            added.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void verify() {
+            long expected = added.sum() * AMOUNT;
+            MonthlySummary summary = budget.summarize();
+            long spent = budget.getCategories().get(CATEGORY).getSpentThisMonthCents();
+            if (summary.expenseCents() != expected || summary.spent(CATEGORY) != expected
+                    || spent != expected || budget.getTransactions().size() != added.sum()
+                    || !budget.verifyTotals()) {
+                throw new IllegalStateException("Lost updates: expected " + expected + " cents from " + added.sum()
+                        + " adds, got expense " + summary.expenseCents() + ", category " + spent
+                        + ", " + budget.getTransactions().size() + " rows");
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Counter {
+        final Category category = new Category(CATEGORY, 0);
+        final LongAdder added = new LongAdder();
+
+        @TearDown(Level.Iteration)
+        public void verify() {
+            if (category.getSpentThisMonthCents() != added.sum() * AMOUNT) {
+                throw new IllegalStateException("Lost category updates: expected " + added.sum() * AMOUNT
+                        + ", got " + category.getSpentThisMonthCents());
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("addWhileSummarizing")
+    @GroupThreads(6)
+    public void add(Shared shared) {
+        shared.budget.addTransaction(new Transaction(AMOUNT, DAY, "HEB #0412 SALADO TX",
+                Transaction.TransactionType.EXPENSE, CATEGORY));
+        shared.added.increment();
+    }
+
+    @Benchmark
+    @Group("addWhileSummarizing")
+    @GroupThreads(2)
+    public MonthlySummary summarize(Shared shared) {
+        MonthlySummary summary = shared.budget.summarize();
+        // Every transaction is a Groceries expense, so a consistent snapshot has both equal
+        if (summary.expenseCents() != summary.spent(CATEGORY)) {
+            throw new IllegalStateException("Torn summary: expense " + summary.expenseCents()
+                    + " vs category " + summary.spent(CATEGORY));
+        }
+        return summary;
+    }
+
+    /** Category counters under contention, no Budget lock involved. */
+    @Benchmark
+    @Threads(8)
+    public void addSpent(Counter counter) {
+        counter.category.addSpent(AMOUNT);
+        counter.added.increment();
+    }
+}
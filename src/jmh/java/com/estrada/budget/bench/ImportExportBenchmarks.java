@@ -0,0 +1,92 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.util.CsvStatementImporter;
+import com.estrada.budget.util.ExportUtil;
+import com.estrada.budget.util.StatementLayout;
+import com.estrada.budget.util.TransactionCategorizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV statement import, CSV export and categorization over synthetic statements.
+ * PDF import needs real statement PDFs, so it is not covered here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImportExportBenchmarks {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final CsvStatementImporter importer = new CsvStatementImporter();
+    private final TransactionCategorizer categorizer = TransactionCategorizer.withDefaultRules();
+    private Path statement;
+    private Budget budget;
+    private String[] descriptions;
+
+    @Setup
+    public void setUp() throws IOException {
+        statement = BenchmarkData.rbfcuCsv(size, BenchmarkData.SEED, Files.createTempFile("rbfcu-bench", ".csv"));
+        importer.setCategorizer(categorizer);
+        budget = BenchmarkData.budget(size);
+        descriptions = BenchmarkData.descriptions(size, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(statement);
+    }
+
+    /** Parse and categorize only; the sink discards the batches. */
+    @Benchmark
+    public CsvStatementImporter.ImportResult parseCsv(Blackhole blackhole) throws IOException {
+        return importer.importFile(statement, StatementLayout.RBFCU, blackhole::consume);
+    }
+
+    /** Parse, categorize and add to a fresh budget. */
+    @Benchmark
+    public Budget importCsv() throws IOException {
+        Budget target = new Budget();
+        importer.importInto(statement, StatementLayout.RBFCU, target);
+        return target;
+    }
+
+    @Benchmark
+    public int exportTransactions() throws IOException {
+        return ExportUtil.exportTransactions(budget, Writer.nullWriter(), null, null, null);
+    }
+
+    @Benchmark
+    public int exportCategorySummaries() throws IOException {
+        return ExportUtil.exportCategorySummaries(budget, Writer.nullWriter(), null, null, null);
+    }
+
+    @Benchmark
+    public void categorize(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(categorizer.match(description));
+        }
+    }
+}
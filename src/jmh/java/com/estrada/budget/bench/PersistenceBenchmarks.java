@@ -0,0 +1,118 @@
+package com.estrada.budget.bench;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.util.BinarySnapshot;
+import com.estrada.budget.util.JsonPersistence;
+import com.estrada.budget.util.StreamingJsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary snapshot vs. JSON, in memory (codec cost only) and through JsonPersistence on disk
+ * (checksummed temp-file write, fsync and rename). The forked JVM gets its own user.home
+ * under target/, so the real ~/EstradaFamilyBudget is never touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Duser.home=target/jmh-home"})
+public class PersistenceBenchmarks {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final BinarySnapshot binary = new BinarySnapshot();
+    private final StreamingJsonCodec json = new StreamingJsonCodec();
+    private JsonPersistence persistence;
+    private Path jsonFile;
+
+    private Budget budget;
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        budget = BenchmarkData.budget(size);
+        binaryBytes = writeBinary().toByteArray();
+        jsonBytes = writeJson().toByteArray();
+        System.out.printf("%n%d transactions: binary %,d bytes, JSON %,d bytes%n", size, binaryBytes.length, jsonBytes.length);
+
+        persistence = new JsonPersistence();
+        persistence.save(budget);
+        jsonFile = Files.createTempFile("budget-bench", ".json");
+        jsonFile.toFile().deleteOnExit();
+        persistence.exportJson(budget, jsonFile);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sizeHint(binaryBytes));
+        binary.write(budget, Channels.newChannel(out));
+        return out;
+    }
+
+    @Benchmark
+    public Budget readBinary() throws IOException {
+        return binary.read(ByteBuffer.wrap(binaryBytes));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sizeHint(jsonBytes));
+        json.write(budget, out);
+        return out;
+    }
+
+    @Benchmark
+    public Budget readJson() throws IOException {
+        return json.read(new ByteArrayInputStream(jsonBytes));
+    }
+
+    /** JsonPersistence.save: binary snapshot to disk. */
+    @Benchmark
+    public Budget save() throws IOException {
+        persistence.save(budget);
+        return budget;
+    }
+
+    /** JsonPersistence.load: newest snapshot plus (empty) journal replay. */
+    @Benchmark
+    public Budget load() throws IOException {
+        return persistence.load();
+    }
+
+    @Benchmark
+    public Path exportJsonFile() throws IOException {
+        persistence.exportJson(budget, jsonFile);
+        return jsonFile;
+    }
+
+    @Benchmark
+    public Budget importJsonFile() throws IOException {
+        return persistence.importJson(jsonFile);
+    }
+
+    private static int sizeHint(byte[] previous) {
+        return previous != null ? previous.length : 1 << 16;
+    }
+}
@@ -0,0 +1,367 @@
+package com.estrada.budget.api;
+
+import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.RecurrenceIndex;
+import com.estrada.budget.model.ScheduledPayment;
+import com.estrada.budget.model.Transaction;
+import com.estrada.budget.util.PersistenceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Small JSON API for the household LAN, so phones and scripts can record entries and read
+ * the numbers the App shows. Backed by the same Budget and PersistenceService as the window.
+ *
+ *   POST /transactions      one transaction object, or an array of them (bulk)
+ *   GET  /summary[?month=2026-10]
+ *   GET  /balances
+ *   GET  /upcoming[?days=30]  unpaid scheduled payments and recurring transactions
+ *
+ * Transactions use the journal's field names (amountCents or amount in dollars, date,
+ * description, type, category, recurring, recurrenceType); a missing type means EXPENSE,
+ * a missing date today and a missing category whatever the categorizer picks.
+ * POST answers 201 once the entries are durable; bodies over MAX_BODY_BYTES get 413. Concurrent posts share the writer's
+ * coalesced journal fsync, and an array is added and journaled as one batch.
+ *
+ * Every exchange runs on its own virtual thread, so a slow client or a wait for the
+ * fsync costs no platform thread. If a token is configured, requests must send it in
+ * the X-Budget-Token header. Without a token the server only binds to a loopback address;
+ * serving the LAN (e.g. host 0.0.0.0) needs one.
+ */
+public class BudgetApiServer {
+
+    public static final int DEFAULT_PORT = 8787;
+    public static final String DEFAULT_HOST = "127.0.0.1";
+
+    private static final String TOKEN_HEADER = "X-Budget-Token";
+    private static final String DEFAULT_CATEGORY = "Miscellaneous";
+    private static final int MAX_BATCH = 10_000;
+    private static final int MAX_BODY_BYTES = 4 * 1024 * 1024;  // a full batch is about 2 MB
+    private static final int DEFAULT_UPCOMING_DAYS = 30;
+
+    private final Budget budget;
+    private final PersistenceService persistence;
+    private final Function<String, String> categorizer;
+    private final byte[] token;
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param categorizer picks a category for posts without one (null result = Miscellaneous)
+     * @param token       shared secret for the X-Budget-Token header, or null for none
+     */
+    public BudgetApiServer(PersistenceService persistence, Function<String, String> categorizer, String token) {
+        this.budget = persistence.getBudget();
+        this.persistence = persistence;
+        this.categorizer = categorizer != null ? categorizer : description -> null;
+        this.token = token != null && !token.isBlank() ? token.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    public synchronized void start(String host, int port) throws IOException {
+        if (server != null) throw new IllegalStateException("API server already running");
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) throw new IOException("Unknown host: " + host);
+        if (token == null && !address.getAddress().isLoopbackAddress()) {
+            throw new IOException("Refusing to serve " + host + " without a token; set one "
+                    + "(budget.http.token / --token) or bind to " + DEFAULT_HOST);
+        }
+        // Small JSON replies otherwise sit behind Nagle + delayed ACK (~40ms per request on
+        // keep-alive connections). Read once, when the JDK server config first loads.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/transactions", exchange -> handle(exchange, "POST", this::postTransactions));
+        server.createContext("/summary", exchange -> handle(exchange, "GET", this::getSummary));
+        server.createContext("/balances", exchange -> handle(exchange, "GET", this::getBalances));
+        server.createContext("/upcoming", exchange -> handle(exchange, "GET", this::getUpcoming));
+        server.start();
+        System.out.println("Budget API listening on http://" + host + ":" + getPort()
+                + (token == null ? " (no token configured)" : ""));
+    }
+
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Stops accepting requests, giving in-flight ones up to a second to finish.
+     */
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(1);
+        executor.close();
+        server = null;
+        executor = null;
+    }
+
+    private Object postTransactions(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && length.matches("\\d+") && Long.parseLong(length) > MAX_BODY_BYTES) {
+            throw new BadRequest(413, "Request body over " + MAX_BODY_BYTES + " bytes");
+        }
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            // Chunked bodies carry no length, so never read more than one byte past the limit
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new BadRequest(413, "Request body over " + MAX_BODY_BYTES + " bytes");
+        }
+        JsonNode body = bytes.length > 0 ? mapper.readTree(bytes) : null;
+        if (body == null || !(body.isObject() || body.isArray())) {
+            throw new BadRequest("Expected a transaction object or an array of them");
+        }
+        if (body.isArray() && body.size() > MAX_BATCH) {
+            throw new BadRequest("At most " + MAX_BATCH + " transactions per request");
+        }
+
+        List<Transaction> batch = new ArrayList<>(body.isArray() ? body.size() : 1);
+        if (body.isArray()) {
+            for (JsonNode node : body) batch.add(toTransaction(node));
+        } else {
+            batch.add(toTransaction(body));
+        }
+
+        try {
+            if (batch.size() == 1) {
+                persistence.addTransaction(batch.get(0)).join();
+            } else if (!batch.isEmpty()) {
+                persistence.addTransactions(batch).join();
+            }
+        } catch (CompletionException e) {
+            // Already in the budget; the writer retries with a snapshot, but the caller should know
+            throw new IOException("Saved in memory but not yet on disk: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        exchange.getResponseHeaders().set("Location", "/summary?month=" + YearMonth.from(batch.get(0).getDate()));
+        Map<String, Object> created = new LinkedHashMap<>();
+        created.put("added", batch.size());
+        return new Response(201, created);
+    }
+
+    private Transaction toTransaction(JsonNode node) {
+        if (!node.isObject()) throw new BadRequest("Each transaction must be a JSON object");
+        Transaction t;
+        try {
+            t = mapper.treeToValue(node, Transaction.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequest("Invalid transaction: " + e.getOriginalMessage());
+        }
+        if (t.getAmountCents() <= 0) throw new BadRequest("amountCents (or amount) must be positive");
+        if (t.getDate() == null) t.setDate(LocalDate.now());
+        if (t.getType() == null) t.setType(Transaction.TransactionType.EXPENSE);
+        if (t.getCategory() == null || t.getCategory().isBlank()) {
+            String picked = categorizer.apply(t.getDescription());
+            t.setCategory(picked != null ? picked : DEFAULT_CATEGORY);
+        }
+        return t;
+    }
+
+    private Object getSummary(HttpExchange exchange) {
+        String month = query(exchange).get("month");
+        YearMonth ym;
+        try {
+            ym = month != null ? YearMonth.parse(month) : null;
+        } catch (DateTimeParseException e) {
+            throw new BadRequest("month must look like 2026-10");
+        }
+        MonthlySummary summary = ym != null ? budget.summarize(ym) : budget.summarize();
+
+        List<Map<String, Object>> categories = new ArrayList<>();
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            for (int i = 0; i < summary.categoryCount(); i++) {
+                String name = summary.categoryNames().get(i);
+                Category category = budget.getCategories().get(name);
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", name);
+                row.put("spentCents", summary.spentAt(i));
+                row.put("budgetedCents", category != null ? category.getBudgetedCents() : 0);
+                categories.add(row);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("month", summary.month().toString());
+        json.put("incomeCents", summary.incomeCents());
+        json.put("expenseCents", summary.expenseCents());
+        json.put("balanceCents", summary.balanceCents());
+        json.put("belowSafeBuffer", summary.isBelowSafeBuffer());
+        json.put("categories", categories);
+        return json;
+    }
+
+    private Object getBalances(HttpExchange exchange) {
+        List<Map<String, Object>> balances = new ArrayList<>();
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            for (BalanceItem b : budget.getBalances()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", b.getName());
+                row.put("balanceCents", b.getBalanceCents());
+                balances.add(row);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return balances;
+    }
+
+    private Object getUpcoming(HttpExchange exchange) {
+        int days;
+        try {
+            String param = query(exchange).get("days");
+            days = param != null ? Integer.parseInt(param) : DEFAULT_UPCOMING_DAYS;
+        } catch (NumberFormatException e) {
+            throw new BadRequest("days must be a whole number");
+        }
+        if (days < 0 || days > 366) throw new BadRequest("days must be between 0 and 366");
+
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(days);
+        List<Map<String, Object>> upcoming = new ArrayList<>();
+        for (RecurrenceIndex.Due<ScheduledPayment> due : budget.scheduledDueBetween(today, until)) {
+            ScheduledPayment p = due.item();
+            upcoming.add(upcomingRow(due.date(), p.getPayee(), p.getAmountCents(), p.getType(), "scheduled"));
+        }
+        for (RecurrenceIndex.Due<Transaction> due : budget.recurringDueBetween(today, until)) {
+            Transaction t = due.item();
+            upcoming.add(upcomingRow(due.date(), t.getDescription(), t.getAmountCents(), t.getType(), "recurring"));
+        }
+        upcoming.sort(Comparator.comparing(row -> (String) row.get("date")));
+        return upcoming;
+    }
+
+    private static Map<String, Object> upcomingRow(LocalDate date, String name, long cents,
+                                                   Transaction.TransactionType type, String source) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("date", date.toString());
+        row.put("name", name);
+        row.put("amountCents", cents);
+        row.put("type", type);
+        row.put("source", source);
+        return row;
+    }
+
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        try (exchange) {
+            int status;
+            Object body;
+            try {
+                if (token != null && !authorized(exchange)) {
+                    status = 401;
+                    body = error("Missing or wrong " + TOKEN_HEADER);
+                } else if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    status = 405;
+                    body = error("Use " + method);
+                } else {
+                    body = handler.handle(exchange);
+                    status = 200;
+                    if (body instanceof Response r) {
+                        status = r.status();
+                        body = r.body();
+                    }
+                }
+            } catch (BadRequest e) {
+                status = e.status;
+                body = error(e.getMessage());
+            } catch (JsonProcessingException e) {
+                status = 400;
+                body = error("Malformed JSON: " + e.getOriginalMessage());
+            } catch (Exception e) {
+                System.err.println("API request " + exchange.getRequestURI() + " failed: " + e.getMessage());
+                status = 500;
+                body = error(e.getMessage());
+            }
+
+            byte[] bytes = mapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String sent = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        return sent != null && MessageDigest.isEqual(token, sent.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message != null ? message : "Unknown error");
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(HttpExchange exchange) throws IOException;
+    }
+
+    private record Response(int status, Object body) {
+    }
+
+    private static class BadRequest extends RuntimeException {
+        final int status;
+
+        BadRequest(String message) {
+            this(400, message);
+        }
+
+        BadRequest(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
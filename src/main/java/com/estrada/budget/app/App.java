@@ -1,50 +1,98 @@
 package com.estrada.budget.app;
 
+import com.estrada.budget.api.BudgetApiServer;
 import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.CashFlowProjector;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.PeriodSummary;
+import com.estrada.budget.model.RecurrenceIndex;
+import com.estrada.budget.model.RollupCube;
+import com.estrada.budget.model.ScheduledPayment;
 import com.estrada.budget.model.Transaction;
+import com.estrada.budget.model.TransactionLedger;
+import com.estrada.budget.model.YearOverYear;
 import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.util.CsvStatementImporter;
+import com.estrada.budget.util.ExportUtil;
 import com.estrada.budget.util.JsonPersistence;
+import com.estrada.budget.util.PdfStatementImporter;
+import com.estrada.budget.util.PersistenceService;
+import com.estrada.budget.util.StatementLayout;
+import com.estrada.budget.util.TransactionCategorizer;
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.PieChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.shape.Line;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 public class App extends Application {
 
+    private static final int OUTLOOK_MONTHS = 3;
+    private static final int OUTLOOK_RUNS = 2000;
+    private static final long OUTLOOK_SEED = 2026;
+
+    // Startup timings are measured from process start when the OS reports it, else from here
+    private static final Instant CLASS_LOADED = Instant.now();
+
     private Budget budget;
     private JsonPersistence persistence;
+    private PersistenceService persistenceService;
+    private BudgetApiServer apiServer;
+    private TransactionCategorizer categorizer;
     private Label summaryLabel;
 
-    private List<BalanceItem> balances = new ArrayList<>();
-    private List<String> upcomingPayments = new ArrayList<>();
-
     @Override
     public void start(Stage primaryStage) {
-        persistence = new JsonPersistence();
-
-        try {
-            budget = persistence.load();
-        } catch (IOException e) {
-            showError("Failed to load budget: " + e.getMessage());
-            budget = new Budget();
-        }
-
-        loadDefaultBalances();
-        loadUpcomingPayments();
+        // Read and parse the budget and compile the categorizer rules on background threads
+        // while the window is built and shown; the budget-dependent controls stay disabled
+        // until both are done (onBudgetLoaded)
+        CompletableFuture<Budget> loaded = CompletableFuture
+                .supplyAsync(this::loadBudget, backgroundThread("budget-load"));
+        CompletableFuture<TransactionCategorizer> learned = CompletableFuture
+                .supplyAsync(TransactionCategorizer::withDefaultRules, backgroundThread("categorizer-load"))
+                .thenCombine(loaded, (rules, loadedBudget) -> {
+                    // Merchant rules plus whatever categories were picked by hand before
+                    rules.learnFrom(loadedBudget.getTransactions());
+                    return rules;
+                });
 
         // === HEADER: Centered title + Date/Temp row + Separator ===
         // Lines 62-85: This restores the centered "Estrada Family Budget" title exactly as before
@@ -80,8 +128,8 @@ public class App extends Application {
 
         // Monthly Summary Card (ledger style)
         VBox summaryCard = createCard();
-        summaryLabel = new Label();
-        updateSummaryDisplay();
+        summaryLabel = new Label("Loading budget…");
+        summaryLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #555;");
         summaryCard.getChildren().add(summaryLabel);
         content.getChildren().add(summaryCard);
 
@@ -94,6 +142,30 @@ public class App extends Application {
         viewUpcomingButton.setOnAction(e -> showUpcomingPopUp());
         content.getChildren().add(viewUpcomingButton);
 
+        Button simulatorButton = new Button("Projected Balance Simulator");
+        simulatorButton.setOnAction(e -> showProjectionSimulator());
+        content.getChildren().add(simulatorButton);
+
+        Button reportsButton = new Button("Spending Reports");
+        reportsButton.setOnAction(e -> showReportsPopUp());
+        content.getChildren().add(reportsButton);
+
+        Button ledgerButton = new Button("Transaction Ledger");
+        ledgerButton.setOnAction(e -> showLedgerPopUp());
+        content.getChildren().add(ledgerButton);
+
+        Button importCsvButton = new Button("Import Bank Statement (CSV)");
+        importCsvButton.setOnAction(e -> importCsvStatement(primaryStage, importCsvButton));
+        content.getChildren().add(importCsvButton);
+
+        Button importPdfButton = new Button("Import Statements (PDF)");
+        importPdfButton.setOnAction(e -> importPdfStatements(primaryStage, importPdfButton));
+        content.getChildren().add(importPdfButton);
+
+        Button exportButton = new Button("Export to CSV");
+        exportButton.setOnAction(e -> exportCsv(primaryStage, exportButton));
+        content.getChildren().add(exportButton);
+
         // Separator below buttons
         Line buttonsSeparator = new Line();
         buttonsSeparator.endXProperty().bind(primaryStage.widthProperty().subtract(40));
@@ -129,11 +201,19 @@ public class App extends Application {
         Label catLabel = new Label("Category:");
         catLabel.setStyle("-fx-text-fill: #001F3F; -fx-font-weight: bold;");
         ComboBox<String> categoryBox = new ComboBox<>();
-        categoryBox.getItems().addAll(budget.getCategories().keySet());
-        categoryBox.setValue("Groceries");
         form.add(catLabel, 0, 2);
         form.add(categoryBox, 1, 2);
 
+        // Suggest a category once the description is entered
+        descField.focusedProperty().addListener((obs, was, focused) -> {
+            if (!focused && categorizer != null) {
+                String suggested = categorizer.apply(descField.getText().trim());
+                if (suggested != null && budget.getCategories().containsKey(suggested)) {
+                    categoryBox.setValue(suggested);
+                }
+            }
+        });
+
         Label typeLabel = new Label("Type:");
         typeLabel.setStyle("-fx-text-fill: #001F3F; -fx-font-weight: bold;");
         ToggleGroup typeGroup = new ToggleGroup();
@@ -159,7 +239,7 @@ public class App extends Application {
         addButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold;");
         addButton.setOnAction(e -> {
             try {
-                double amount = Double.parseDouble(amountField.getText().trim());
+                long amount = Money.parse(amountField.getText());
                 String desc = descField.getText().trim();
                 String cat = categoryBox.getValue();
                 Transaction.TransactionType type = expenseBtn.isSelected() ?
@@ -172,8 +252,8 @@ public class App extends Application {
                     t.setRecurrenceType(recurrenceBox.getValue());
                 }
 
-                budget.addTransaction(t);
-                persistence.save(budget);
+                persistenceService.addTransaction(t);
+                categorizer.learn(desc, cat);
                 updateSummaryDisplay();
 
                 amountField.clear();
@@ -185,8 +265,6 @@ public class App extends Application {
 
             } catch (NumberFormatException ex) {
                 showError("Invalid amount. Enter a number.");
-            } catch (IOException ex) {
-                showError("Failed to save: " + ex.getMessage());
             }
         });
         form.add(addButton, 1, 5);
@@ -203,9 +281,105 @@ public class App extends Application {
         Scene scene = new Scene(root, 800, 900);
         scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
 
+        List<Node> needsBudget = List.of(viewBalancesButton, viewUpcomingButton, simulatorButton, reportsButton,
+                ledgerButton, importCsvButton, importPdfButton, exportButton, form);
+        needsBudget.forEach(node -> node.setDisable(true));
+
         primaryStage.setTitle("Estrada Family Budget");
         primaryStage.setScene(scene);
+        // One-shot pulse listener: runs just before the first frame is rendered
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                System.out.println("Startup: first frame after " + millisSinceStart() + " ms");
+            }
+        }.start();
         primaryStage.show();
+
+        learned.whenComplete((rules, ex) -> Platform.runLater(() -> {
+            if (ex != null) {
+                // Leave the controls disabled: no PersistenceService means nothing overwrites the data on exit
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof JsonPersistence.DataDirectoryInUseException) {
+                    // Another window or CLI owns the data: a second writer would clobber its saves
+                    showError(cause.getMessage());
+                    System.exit(1);
+                }
+                summaryLabel.setText("Could not load the budget.");
+                showError("Failed to load budget: " + cause.getMessage());
+                return;
+            }
+            onBudgetLoaded(loaded.join(), rules, categoryBox);
+            needsBudget.forEach(node -> node.setDisable(false));
+            System.out.println("Startup: interactive after " + millisSinceStart() + " ms");
+        }));
+    }
+
+    /**
+     * Runs on the budget-load thread. A failed load fails the future rather than falling back
+     * to an empty Budget, which the exit save would otherwise write over the real data.
+     */
+    private Budget loadBudget() {
+        long started = System.nanoTime();
+        persistence = new JsonPersistence();
+        Budget result;
+        try {
+            persistence.lockDataDirectory();
+            result = persistence.load();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        System.out.println("Startup: budget loaded in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return result;
+    }
+
+    /** FX thread: wires up everything that needs the loaded budget. */
+    private void onBudgetLoaded(Budget loadedBudget, TransactionCategorizer rules, ComboBox<String> categoryBox) {
+        budget = loadedBudget;
+        categorizer = rules;
+
+        // Disk writes happen on a background thread; failures come back to the FX thread
+        persistenceService = new PersistenceService(persistence, budget,
+                ex -> Platform.runLater(() -> showError("Failed to save: " + ex.getMessage())));
+
+        // Optional LAN API: -Dbudget.http.port=8787 [-Dbudget.http.host=...] [-Dbudget.http.token=...]
+        String apiPort = System.getProperty("budget.http.port");
+        if (apiPort != null) {
+            apiServer = new BudgetApiServer(persistenceService, categorizer, System.getProperty("budget.http.token"));
+            try {
+                apiServer.start(System.getProperty("budget.http.host", BudgetApiServer.DEFAULT_HOST), Integer.parseInt(apiPort));
+            } catch (IOException | NumberFormatException e) {
+                showError("Failed to start the budget API on port " + apiPort + ": " + e.getMessage());
+                apiServer = null;
+            }
+        }
+
+        categoryBox.getItems().setAll(budget.getCategories().keySet());
+        categoryBox.setValue("Groceries");
+        summaryLabel.setText(null);
+        summaryLabel.setStyle("");
+        updateSummaryDisplay();
+    }
+
+    private static long millisSinceStart() {
+        Instant start = ProcessHandle.current().info().startInstant().orElse(CLASS_LOADED);
+        return Duration.between(start, Instant.now()).toMillis();
+    }
+
+    @Override
+    public void stop() {
+        if (apiServer != null) {
+            apiServer.stop();
+        }
+        // Fold the journal into a fresh snapshot on exit and wait for the writer to finish
+        if (persistenceService != null) {
+            persistenceService.save();
+            persistenceService.shutdown(10, TimeUnit.SECONDS);
+        }
+        if (persistence != null) {
+            persistence.unlockDataDirectory();
+        }
     }
 
     private VBox createCard() {
@@ -217,42 +391,11 @@ public class App extends Application {
         return card;
     }
 
-    private void loadDefaultBalances() {
-        balances.add(new BalanceItem("RBFCU Checking", 3581.20)); // From Jan 2026 statement
-        balances.add(new BalanceItem("Sam's Club Mastercard", 2558.83));
-        balances.add(new BalanceItem("Citi Card", 6594.60));
-        balances.add(new BalanceItem("Mortgage", 0.0));
-        balances.add(new BalanceItem("Regions Bank Loan", 0.0));
-        balances.add(new BalanceItem("Buckle", 0.0));
-        balances.add(new BalanceItem("Cosco", 0.0));
-        balances.add(new BalanceItem("AFEES", 0.0));
-    }
-
-    private void loadUpcomingPayments() {
-        upcomingPayments.add("Jan 15, 2026: Regions Bank Loan $500.00");
-        upcomingPayments.add("Jan 30, 2026: DFAS Net Pay Deposit $1,440.52 (Income)");
-        upcomingPayments.add("Feb 7, 2026: Sam's Club Min Payment $74.00");
-        upcomingPayments.add("Feb 24, 2026: iCloud $2.99");
-        upcomingPayments.add("Dec 22, 2025: Citi Min Payment $182.30");
-        upcomingPayments.add("Monthly (1st): Mortgage $3,325.10");
-        upcomingPayments.add("Monthly (2nd): T-Mobile $243.13");
-        upcomingPayments.add("Monthly (5th): Veteran Energy $400.00");
-        upcomingPayments.add("Monthly (1st-5th): Salado Water $60.00");
-        upcomingPayments.add("Monthly (6th): Banfield Pet Hospital $146.30");
-        upcomingPayments.add("Monthly (1st): TriWest Health $63.75 (DFAS deduction)");
-        upcomingPayments.add("Monthly: SBP Deduction $212.41 (DFAS deduction)");
-        upcomingPayments.add("Monthly: Former Spouse $1,522.29 (DFAS deduction)");
-        upcomingPayments.add("Monthly: Fed Tax Withheld $18.03 (DFAS deduction)");
-        upcomingPayments.add("Monthly (end): VA Compensation Deposit $4,298.04");
-        upcomingPayments.add("Bi-weekly (7th/21st): Wife's Payroll (GREENSTATE) $1,620.00");
-        upcomingPayments.add("Dec 22, 2027: Tractive Renewal $220.83");
-    }
-
     private void updateSummaryDisplay() {
-        Map<String, Object> summary = budget.getMonthlySummary();
-        double income = (double) summary.get("income");
-        double expense = (double) summary.get("expense");
-        double balance = (double) summary.get("balance");
+        MonthlySummary summary = budget.summarize();
+        long income = summary.incomeCents();
+        long expense = summary.expenseCents();
+        long balance = summary.balanceCents();
 
         VBox summaryBox = new VBox(10);
         summaryBox.setAlignment(Pos.CENTER);
@@ -265,13 +408,13 @@ public class App extends Application {
         amounts.setAlignment(Pos.CENTER_LEFT);
         amounts.setPadding(new Insets(0, 0, 0, 40)); // Tab over to right for ledger look
 
-        Label incLine = new Label("Income:          $" + String.format("%.2f", income));
+        Label incLine = new Label("Income:          $" + Money.format(income));
         incLine.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #27ae60;");
 
-        Label expLine = new Label("Expenses:       $" + String.format("%.2f", expense));
+        Label expLine = new Label("Expenses:       $" + Money.format(expense));
         expLine.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #e74c3c;");
 
-        Label balLine = new Label("Balance:         $" + String.format("%.2f", balance));
+        Label balLine = new Label("Balance:         $" + Money.format(balance));
         balLine.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
         if (balance >= 0) {
             balLine.setStyle(balLine.getStyle() + " -fx-text-fill: #27ae60;");
@@ -282,9 +425,267 @@ public class App extends Application {
         amounts.getChildren().addAll(incLine, expLine, balLine);
         summaryBox.getChildren().add(amounts);
 
+        // History: trailing twelve months and the same month last year, from the monthly totals
+        PeriodSummary lastTwelve = budget.trailingTwelveMonths(summary.month());
+        YearOverYear yoy = budget.yearOverYear(summary.month());
+        String history = "Last 12 months: $" + Money.format(lastTwelve.expenseCents()) + " spent (avg $"
+                + Money.format(lastTwelve.averageMonthlyExpenseCents()) + "/mo)";
+        if (yoy.hasPriorYear() && !Double.isNaN(yoy.expenseChangeRatio())) {
+            history += String.format(" • %+.0f%% vs. %s", yoy.expenseChangeRatio() * 100,
+                    yoy.priorYear().month().format(DateTimeFormatter.ofPattern("MMM yyyy")));
+        }
+        Label historyLine = new Label(history);
+        historyLine.setStyle("-fx-font-size: 14px; -fx-text-fill: #555;");
+        summaryBox.getChildren().add(historyLine);
+
+        // Checking-account outlook, filled in once the simulation finishes off the FX thread
+        Label outlookLine = new Label("Projecting checking balance…");
+        outlookLine.setStyle("-fx-font-size: 14px; -fx-text-fill: #555;");
+        summaryBox.getChildren().add(outlookLine);
+        CashFlowProjector projector = CashFlowProjector.from(budget, LocalDate.now(), OUTLOOK_MONTHS);
+        CompletableFuture
+                .supplyAsync(() -> describeOutlook(projector.project(), projector.simulate(OUTLOOK_RUNS, OUTLOOK_SEED)))
+                .thenAccept(text -> Platform.runLater(() -> outlookLine.setText(text)));
+
         summaryLabel.setGraphic(summaryBox);
     }
 
+    private static String describeOutlook(CashFlowProjector.Projection projection,
+                                          CashFlowProjector.MonteCarloResult scenarios) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("MMM d");
+        return "Checking low: $" + Money.format(projection.lowestBalanceCents())
+                + " on " + projection.lowestBalanceDate().format(format)
+                + String.format(" • %.0f%% chance of dropping below $%s",
+                scenarios.breachProbability() * 100, Money.format(scenarios.bufferCents()));
+    }
+
+    private void showProjectionSimulator() {
+        Stage popup = new Stage();
+        popup.initModality(Modality.APPLICATION_MODAL);
+        popup.setTitle("Projected Balance Simulator");
+
+        VBox popRoot = new VBox(12);
+        popRoot.setPadding(new Insets(15));
+        popRoot.setStyle("-fx-background-color: white;");
+
+        Label title = new Label("Projected Checking Balance");
+        title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #001F3F;");
+
+        TextField spendField = new TextField();
+        spendField.setPromptText("Test spend amount (e.g. 250.00)");
+        ComboBox<Integer> monthsBox = new ComboBox<>();
+        monthsBox.getItems().addAll(1, 3, 6, 12);
+        monthsBox.setValue(OUTLOOK_MONTHS);
+        HBox inputs = new HBox(10, new Label("Spend today: $"), spendField, new Label("Months:"), monthsBox);
+        inputs.setAlignment(Pos.CENTER_LEFT);
+
+        Label result = new Label();
+        result.setStyle("-fx-font-size: 14px; -fx-text-fill: #001F3F;");
+        result.setWrapText(true);
+
+        // Re-run on every edit; only the latest run's answer is shown
+        long[] generation = {0};
+        Runnable rerun = () -> {
+            long spend;
+            try {
+                spend = spendField.getText().isBlank() ? 0 : Money.parse(spendField.getText());
+            } catch (NumberFormatException ex) {
+                result.setText("Enter an amount like 250.00");
+                return;
+            }
+            LocalDate today = LocalDate.now();
+            CashFlowProjector projector = CashFlowProjector.from(budget, today, monthsBox.getValue());
+            long run = ++generation[0];
+            CompletableFuture
+                    .supplyAsync(() -> {
+                        CashFlowProjector.Projection projection = projector.project(today, spend);
+                        CashFlowProjector.MonteCarloResult scenarios = projector.simulate(OUTLOOK_RUNS, OUTLOOK_SEED, spend);
+                        LocalDate breach = projection.firstBreach();
+                        return "Ending balance: $" + Money.format(projection.endingBalanceCents())
+                                + "\n" + describeOutlook(projection, scenarios)
+                                + (breach != null ? "\nExpected to fall below the buffer on "
+                                + breach.format(DateTimeFormatter.ofPattern("MMM d, yyyy")) : "")
+                                + "\nBad month (5th percentile) low: $" + Money.format(scenarios.lowestP5Cents());
+                    })
+                    .thenAccept(text -> Platform.runLater(() -> {
+                        if (run == generation[0]) result.setText(text);
+                    }));
+        };
+        spendField.textProperty().addListener((obs, old, text) -> rerun.run());
+        monthsBox.valueProperty().addListener((obs, old, months) -> rerun.run());
+        rerun.run();
+
+        popRoot.getChildren().addAll(title, inputs, result);
+        popup.setScene(new Scene(popRoot, 560, 260));
+        popup.showAndWait();
+    }
+
+    private void showReportsPopUp() {
+        Stage popup = new Stage();
+        popup.initModality(Modality.APPLICATION_MODAL);
+        popup.setTitle("Spending Reports");
+
+        VBox popRoot = new VBox(12);
+        popRoot.setPadding(new Insets(15));
+        popRoot.setStyle("-fx-background-color: white;");
+
+        ComboBox<Integer> monthsBox = new ComboBox<>();
+        monthsBox.getItems().addAll(3, 6, 12, 24);
+        monthsBox.setValue(12);
+        HBox inputs = new HBox(10, new Label("Months:"), monthsBox);
+        inputs.setAlignment(Pos.CENTER_LEFT);
+
+        PieChart shareChart = new PieChart();
+        shareChart.setLegendVisible(false);
+
+        BarChart<String, Number> trendChart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+        trendChart.setTitle("Income vs. expenses by month");
+
+        BarChart<String, Number> budgetChart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+        budgetChart.setTitle("This month: budgeted vs. actual");
+
+        // Every chart reads one rollup, so redrawing costs months × categories, not a transaction scan
+        Runnable redraw = () -> {
+            YearMonth to = budget.getCurrentMonth();
+            YearMonth from = to.minusMonths(monthsBox.getValue() - 1);
+            RollupCube cube = budget.rollup(from, to);
+
+            shareChart.setTitle("Share of spending since " + from.format(DateTimeFormatter.ofPattern("MMM yyyy")));
+            shareChart.getData().clear();
+            for (RollupCube.Share share : cube.shareOfSpend()) {
+                shareChart.getData().add(new PieChart.Data(
+                        String.format("%s (%.0f%%)", share.category(), share.share() * 100), Money.toDollars(share.cents())));
+            }
+
+            XYChart.Series<String, Number> income = new XYChart.Series<>();
+            income.setName("Income");
+            XYChart.Series<String, Number> expenses = new XYChart.Series<>();
+            expenses.setName("Expenses");
+            long[] incomeTrend = cube.totalTrend(Transaction.TransactionType.INCOME);
+            long[] expenseTrend = cube.totalTrend(Transaction.TransactionType.EXPENSE);
+            for (int m = 0; m < cube.months(); m++) {
+                String label = from.plusMonths(m).format(DateTimeFormatter.ofPattern("MMM yy"));
+                income.getData().add(new XYChart.Data<>(label, Money.toDollars(incomeTrend[m])));
+                expenses.getData().add(new XYChart.Data<>(label, Money.toDollars(expenseTrend[m])));
+            }
+            trendChart.getData().setAll(List.of(income, expenses));
+
+            XYChart.Series<String, Number> budgeted = new XYChart.Series<>();
+            budgeted.setName("Budgeted");
+            XYChart.Series<String, Number> actual = new XYChart.Series<>();
+            actual.setName("Actual");
+            for (RollupCube.Variance variance : cube.varianceVsBudget(to)) {
+                budgeted.getData().add(new XYChart.Data<>(variance.category(), Money.toDollars(variance.budgetedCents())));
+                actual.getData().add(new XYChart.Data<>(variance.category(), Money.toDollars(variance.actualCents())));
+            }
+            budgetChart.getData().setAll(List.of(budgeted, actual));
+        };
+        monthsBox.valueProperty().addListener((obs, old, months) -> redraw.run());
+        redraw.run();
+
+        VBox charts = new VBox(12, shareChart, trendChart, budgetChart);
+        ScrollPane scroll = new ScrollPane(charts);
+        scroll.setFitToWidth(true);
+        VBox.setVgrow(scroll, Priority.ALWAYS);
+
+        popRoot.getChildren().addAll(inputs, scroll);
+        popup.setScene(new Scene(popRoot, 820, 700));
+        popup.showAndWait();
+    }
+
+    private void showLedgerPopUp() {
+        Stage popup = new Stage();
+        popup.initModality(Modality.APPLICATION_MODAL);
+        popup.setTitle("Transaction Ledger");
+
+        VBox popRoot = new VBox(12);
+        popRoot.setPadding(new Insets(15));
+        popRoot.setStyle("-fx-background-color: white;");
+
+        String allCategories = "All categories";
+        ComboBox<String> categoryFilter = new ComboBox<>();
+        categoryFilter.getItems().add(allCategories);
+        categoryFilter.getItems().addAll(budget.getCategories().keySet());
+        categoryFilter.setValue(allCategories);
+
+        List<String> types = List.of("Income and expenses", "Income", "Expenses");
+        ComboBox<String> typeFilter = new ComboBox<>(FXCollections.observableArrayList(types));
+        typeFilter.setValue(types.get(0));
+
+        ComboBox<String> orderBox = new ComboBox<>(FXCollections.observableArrayList("Newest first", "Oldest first"));
+        orderBox.setValue("Newest first");
+
+        Label countLabel = new Label();
+        countLabel.setStyle("-fx-text-fill: #555;");
+        HBox inputs = new HBox(10, categoryFilter, typeFilter, orderBox, countLabel);
+        inputs.setAlignment(Pos.CENTER_LEFT);
+
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MMM d, yyyy");
+        TableView<Transaction> table = new TableView<>();
+        // Fixed row height lets the virtual flow size the scrollbar without measuring rows
+        table.setFixedCellSize(26);
+        table.setPlaceholder(new Label("No transactions match."));
+        TableColumn<Transaction, String> amountColumn = ledgerColumn("Amount", 110, t -> "$" + Money.format(t.getAmountCents()));
+        amountColumn.setStyle("-fx-alignment: CENTER-RIGHT;");
+        table.getColumns().addAll(List.of(
+                ledgerColumn("Date", 110, t -> t.getDate().format(dateFormat)),
+                ledgerColumn("Description", 300, Transaction::getDescription),
+                ledgerColumn("Category", 190, Transaction::getCategory),
+                ledgerColumn("Type", 80, t -> t.getType() == Transaction.TransactionType.INCOME ? "Income" : "Expense"),
+                amountColumn));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        // Rows come from a paged view over the month partitions, so only what is on screen is built
+        IntConsumer show = top -> {
+            String category = allCategories.equals(categoryFilter.getValue()) ? null : categoryFilter.getValue();
+            Transaction.TransactionType type = switch (types.indexOf(typeFilter.getValue())) {
+                case 1 -> Transaction.TransactionType.INCOME;
+                case 2 -> Transaction.TransactionType.EXPENSE;
+                default -> null;
+            };
+            TransactionLedger ledger = budget.ledger(category, type, "Newest first".equals(orderBox.getValue()));
+            table.setItems(new PagedLedgerList(ledger));
+            table.scrollTo(Math.min(top, Math.max(0, ledger.size() - 1)));
+            countLabel.setText(String.format("%,d transaction(s)", ledger.size()));
+        };
+        categoryFilter.valueProperty().addListener((obs, old, value) -> show.accept(0));
+        typeFilter.valueProperty().addListener((obs, old, value) -> show.accept(0));
+        orderBox.valueProperty().addListener((obs, old, value) -> show.accept(0));
+        show.accept(0);
+
+        // Imports and the API can add rows while this is open: swap in a fresh view, keeping the scroll position
+        Timeline refresh = new Timeline(new KeyFrame(javafx.util.Duration.seconds(1), e -> {
+            if (table.getItems() instanceof PagedLedgerList items && items.getLedger().isStale()) {
+                show.accept(firstVisibleRow(table));
+            }
+        }));
+        refresh.setCycleCount(Animation.INDEFINITE);
+        refresh.play();
+        popup.setOnHidden(e -> refresh.stop());
+
+        popRoot.getChildren().addAll(inputs, table);
+        popup.setScene(new Scene(popRoot, 860, 700));
+        popup.showAndWait();
+    }
+
+    private static TableColumn<Transaction, String> ledgerColumn(String title, double width,
+                                                                 Function<Transaction, String> text) {
+        TableColumn<Transaction, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        // Order comes from the ledger itself; sorting in the table would materialize every row
+        column.setSortable(false);
+        column.setCellValueFactory(cell ->
+                new ReadOnlyStringWrapper(cell.getValue() != null ? text.apply(cell.getValue()) : null));
+        return column;
+    }
+
+    private static int firstVisibleRow(TableView<?> table) {
+        if (table.lookup(".virtual-flow") instanceof VirtualFlow<?> flow && flow.getFirstVisibleCell() != null) {
+            return flow.getFirstVisibleCell().getIndex();
+        }
+        return 0;
+    }
+
     private void showBalancesPopUp() {
         Stage popup = new Stage();
         popup.initModality(Modality.APPLICATION_MODAL);
@@ -298,7 +699,7 @@ public class App extends Application {
 
         // ListView for balances
         ListView<BalanceItem> balanceList = new ListView<>();
-        ObservableList<BalanceItem> observableBalances = FXCollections.observableArrayList(balances);
+        ObservableList<BalanceItem> observableBalances = FXCollections.observableArrayList(budget.getBalances());
         balanceList.setItems(observableBalances);
 
         // Custom cell factory for nicer display
@@ -309,7 +710,7 @@ public class App extends Application {
                 if (empty || item == null) {
                     setText(null);
                 } else {
-                    setText(item.getName() + ": $" + String.format("%.2f", item.getBalance()));
+                    setText(item.getName() + ": $" + Money.format(item.getBalanceCents()));
                 }
             }
         });
@@ -351,9 +752,9 @@ public class App extends Application {
         popup.setScene(popScene);
         popup.showAndWait();
 
-        // Update main balances list after popup closes
-        balances.clear();
-        balances.addAll(observableBalances);
+        // Update the budget's balances after popup closes and persist them
+        budget.setBalances(observableBalances);
+        persistenceService.save();
     }
 
     private void addNewBalanceItem(ObservableList<BalanceItem> observableBalances) {
@@ -372,17 +773,17 @@ public class App extends Application {
 
         String balanceStr = balanceDialog.showAndWait().orElse(null);
         try {
-            double balance = Double.parseDouble(balanceStr.trim());
+            long balance = Money.parse(balanceStr);
             BalanceItem newItem = new BalanceItem(name.trim(), balance);
             observableBalances.add(newItem);
-            showInfo("Added: " + name.trim() + " = $" + String.format("%.2f", balance));
+            showInfo("Added: " + name.trim() + " = $" + Money.format(balance));
         } catch (NumberFormatException ex) {
             showError("Invalid balance amount.");
         }
     }
 
     private void editBalanceItem(BalanceItem item, ObservableList<BalanceItem> observableBalances) {
-        TextInputDialog dialog = new TextInputDialog(String.format("%.2f", item.getBalance()));
+        TextInputDialog dialog = new TextInputDialog(Money.format(item.getBalanceCents()));
         dialog.setTitle("Edit Balance");
         dialog.setHeaderText("Update balance for " + item.getName());
         dialog.setContentText("New balance ($):");
@@ -391,15 +792,151 @@ public class App extends Application {
         if (newBalanceStr == null) return;
 
         try {
-            double newBalance = Double.parseDouble(newBalanceStr.trim());
-            item.setBalance(newBalance);
+            long newBalance = Money.parse(newBalanceStr);
+            item.setBalanceCents(newBalance);
             observableBalances.set(observableBalances.indexOf(item), item);
-            showInfo("Updated: " + item.getName() + " = $" + String.format("%.2f", newBalance));
+            showInfo("Updated: " + item.getName() + " = $" + Money.format(newBalance));
         } catch (NumberFormatException ex) {
             showError("Invalid balance amount.");
         }
     }
 
+    private void importCsvStatement(Stage owner, Button importButton) {
+        ChoiceDialog<StatementLayout> layoutDialog = new ChoiceDialog<>(StatementLayout.RBFCU, StatementLayout.values());
+        layoutDialog.setTitle("Import Bank Statement");
+        layoutDialog.setHeaderText("Which account is this CSV export from?");
+        layoutDialog.setContentText("Layout:");
+        StatementLayout layout = layoutDialog.showAndWait().orElse(null);
+        if (layout == null) return;
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Choose " + layout.getAccountName() + " CSV export");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(owner);
+        if (file == null) return;
+
+        // Parse and commit off the FX thread, then persist once with a single snapshot
+        importButton.setDisable(true);
+        CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        CsvStatementImporter importer = new CsvStatementImporter();
+                        importer.setCategorizer(categorizer);
+                        return importer.importInto(file.toPath(), layout, budget);
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, backgroundThread("statement-import"))
+                .whenComplete((result, ex) -> Platform.runLater(() -> {
+                    importButton.setDisable(false);
+                    if (ex != null) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        showError("Import failed: " + cause.getMessage());
+                        return;
+                    }
+                    persistenceService.save();
+                    updateSummaryDisplay();
+                    showInfo("Imported " + result.imported() + " transaction(s)"
+                            + (result.skipped() > 0 ? ", skipped " + result.skipped() + " row(s)" : "") + ".");
+                }));
+    }
+
+    private void importPdfStatements(Stage owner, Button importButton) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Choose PDF statements");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF files", "*.pdf"));
+        List<File> files = chooser.showOpenMultipleDialog(owner);
+        if (files == null || files.isEmpty()) return;
+
+        List<Path> statements = files.stream().map(File::toPath).toList();
+        importButton.setDisable(true);
+        CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        PdfStatementImporter importer = new PdfStatementImporter();
+                        importer.setCategorizer(categorizer);
+                        return importer.importInto(statements, budget);
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, backgroundThread("statement-import"))
+                .whenComplete((extracts, ex) -> Platform.runLater(() -> {
+                    importButton.setDisable(false);
+                    if (ex != null) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        showError("Import failed: " + cause.getMessage());
+                        return;
+                    }
+                    persistenceService.save();
+                    updateSummaryDisplay();
+
+                    StringBuilder report = new StringBuilder();
+                    for (PdfStatementImporter.StatementExtract extract : extracts) {
+                        report.append(extract.source().getFileName()).append(": ");
+                        if (extract.layout() == null) {
+                            report.append("account not recognized, skipped\n");
+                            continue;
+                        }
+                        report.append(extract.transactions().size()).append(" transaction(s)");
+                        if (extract.endingBalanceCents() != null) {
+                            report.append(", ").append(extract.layout().getAccountName())
+                                    .append(" balance $").append(Money.format(extract.endingBalanceCents()));
+                        }
+                        report.append('\n');
+                    }
+                    showInfo(report.toString().trim());
+                }));
+    }
+
+    private void exportCsv(Stage owner, Button exportButton) {
+        List<String> kinds = List.of("Transactions", "Category summaries", "Balances");
+        ChoiceDialog<String> kindDialog = new ChoiceDialog<>(kinds.get(0), kinds);
+        kindDialog.setTitle("Export to CSV");
+        kindDialog.setHeaderText("What would you like to export?");
+        kindDialog.setContentText("Export:");
+        String kind = kindDialog.showAndWait().orElse(null);
+        if (kind == null) return;
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save " + kind.toLowerCase() + " as CSV");
+        chooser.setInitialFileName(kind.toLowerCase().replace(' ', '-') + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(owner);
+        if (file == null) return;
+
+        exportButton.setDisable(true);
+        CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return switch (kind) {
+                            case "Transactions" -> ExportUtil.exportTransactions(budget, file.toPath(), null, null, null);
+                            case "Category summaries" -> ExportUtil.exportCategorySummaries(budget, file.toPath(), null, null, null);
+                            default -> ExportUtil.exportBalances(budget, file.toPath());
+                        };
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, backgroundThread("csv-export"))
+                .whenComplete((rows, ex) -> Platform.runLater(() -> {
+                    exportButton.setDisable(false);
+                    if (ex != null) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        showError("Export failed: " + cause.getMessage());
+                        return;
+                    }
+                    showInfo("Exported " + rows + " row(s) to " + file.getName() + ".");
+                }));
+    }
+
+    // One-off daemon thread for long-running work, so it never ties up the shared ForkJoin pool
+    private static Executor backgroundThread(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
     private void showUpcomingPopUp() {
         Stage popup = new Stage();
         popup.initModality(Modality.APPLICATION_MODAL);
@@ -415,18 +952,48 @@ public class App extends Application {
         upcomingTitle.setAlignment(Pos.CENTER);
         popRoot.getChildren().add(upcomingTitle);
 
-        for (String payment : upcomingPayments) {
-            if (!payment.contains("Monthly") && !payment.contains("Bi-weekly") && !payment.contains("Deposit")) {
-                CheckBox checkBox = new CheckBox(payment);
+        // Pre-sorted by next due date in Budget; paid state is saved with the budget
+        LocalDate today = LocalDate.now();
+        List<ScheduledPayment> scheduled = budget.scheduledByDueDate(today);
+        DateTimeFormatter dueFormat = DateTimeFormatter.ofPattern("MMM d, yyyy");
+
+        List<ScheduledPayment> deposits = new ArrayList<>();
+        for (ScheduledPayment payment : scheduled) {
+            if (!payment.isRecurring() && payment.isIncome()) {
+                deposits.add(payment);  // money coming in, not a bill to tick off
+            } else if (!payment.isRecurring()) {
+                LocalDate dueDate = payment.getDueDate();
+                CheckBox checkBox = new CheckBox((dueDate != null ? dueDate.format(dueFormat) : "No due date")
+                        + ": " + payment);
+                checkBox.setSelected(payment.isPaid());
+                checkBox.setDisable(dueDate == null);  // nothing to mark paid through
                 popRoot.getChildren().add(checkBox);
                 checkBox.selectedProperty().addListener((obs, old, newVal) -> {
+                    budget.markPaidThrough(payment, newVal ? payment.getDueDate() : null);
+                    persistenceService.save();
                     if (newVal) {
-                        showInfo("Marked as paid: " + payment);
+                        showInfo("Marked as paid: " + payment.getPayee());
                     }
                 });
             }
         }
 
+        // One-time deposits (no checkboxes)
+        if (!deposits.isEmpty()) {
+            Label depositsTitle = new Label("Upcoming Deposits");
+            depositsTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #001F3F;");
+            depositsTitle.setAlignment(Pos.CENTER);
+            popRoot.getChildren().add(depositsTitle);
+            for (ScheduledPayment deposit : deposits) {
+                LocalDate dueDate = deposit.getDueDate();
+                Label depositItem = new Label((dueDate != null ? dueDate.format(dueFormat) : "No due date")
+                        + ": " + deposit + (deposit.getNote() != null ? " (" + deposit.getNote() + ")" : ""));
+                depositItem.setStyle("-fx-text-fill: #555; -fx-font-style: italic;");
+                depositItem.setAlignment(Pos.CENTER);
+                popRoot.getChildren().add(depositItem);
+            }
+        }
+
         // Separator for recurring
         Line recurringSeparator = new Line();
         recurringSeparator.endXProperty().bind(popup.widthProperty().subtract(40));
@@ -439,20 +1006,70 @@ public class App extends Application {
         popRoot.getChildren().add(recurringTitle);
 
         // Recurring items (no checkboxes)
-        for (String payment : upcomingPayments) {
-            if (payment.contains("Monthly") || payment.contains("Bi-weekly") && !payment.contains("Deposit")) {
-                Label recurringItem = new Label(payment);
+        for (ScheduledPayment payment : scheduled) {
+            if (payment.isRecurring()) {
+                LocalDate next = payment.nextDue(today);
+                Label recurringItem = new Label(recurrenceLabel(payment) + ": " + payment
+                        + (payment.getNote() != null ? " (" + payment.getNote() + ")" : "")
+                        + (next != null ? " — next " + next.format(dueFormat) : ""));
                 recurringItem.setStyle("-fx-text-fill: #555; -fx-font-style: italic;");
                 recurringItem.setAlignment(Pos.CENTER);
                 popRoot.getChildren().add(recurringItem);
             }
         }
 
+        // Next occurrences of transactions entered as recurring
+        List<RecurrenceIndex.Due<Transaction>> due = budget.upcomingRecurring(30);
+        if (!due.isEmpty()) {
+            Label dueTitle = new Label("Recurring Transactions (next 30 days)");
+            dueTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #001F3F;");
+            popRoot.getChildren().add(dueTitle);
+            for (RecurrenceIndex.Due<Transaction> d : due) {
+                Transaction t = d.item();
+                Label dueItem = new Label(d.date().format(dueFormat) + ": " + t.getDescription() + " $"
+                        + Money.format(t.getAmountCents())
+                        + (t.getType() == Transaction.TransactionType.INCOME ? " (Income)" : ""));
+                dueItem.setStyle("-fx-text-fill: #555; -fx-font-style: italic;");
+                popRoot.getChildren().add(dueItem);
+            }
+        }
+
         Scene popScene = new Scene(popRoot, 500, 600);
         popup.setScene(popScene);
         popup.showAndWait();
     }
 
+    // "Monthly (5th)", "Bi-weekly", "Yearly (Dec 22)"
+    private static String recurrenceLabel(ScheduledPayment payment) {
+        LocalDate due = payment.getDueDate();
+        if (due == null) {
+            return switch (payment.getRecurrence()) {
+                case WEEKLY -> "Weekly";
+                case BIWEEKLY -> "Bi-weekly";
+                case MONTHLY -> "Monthly";
+                case QUARTERLY -> "Quarterly";
+                case YEARLY -> "Yearly";
+            };
+        }
+        return switch (payment.getRecurrence()) {
+            case WEEKLY -> "Weekly";
+            case BIWEEKLY -> "Bi-weekly";
+            case MONTHLY -> "Monthly (" + (due.getDayOfMonth() == 31 ? "end" : ordinal(due.getDayOfMonth())) + ")";
+            case QUARTERLY -> "Quarterly (" + ordinal(due.getDayOfMonth()) + ")";
+            case YEARLY -> "Yearly (" + due.format(DateTimeFormatter.ofPattern("MMM d")) + ")";
+        };
+    }
+
+    private static String ordinal(int day) {
+        if (day >= 11 && day <= 13) return day + "th";
+        return switch (day % 10) {
+            case 1 -> day + "st";
+            case 2 -> day + "nd";
+            case 3 -> day + "rd";
+            default -> day + "th";
+        };
+    }
+
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
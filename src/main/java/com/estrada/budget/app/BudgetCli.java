@@ -0,0 +1,301 @@
+package com.estrada.budget.app;
+
+import com.estrada.budget.api.BudgetApiServer;
+import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.PeriodSummary;
+import com.estrada.budget.model.YearOverYear;
+import com.estrada.budget.util.CsvStatementImporter;
+import com.estrada.budget.util.ExportUtil;
+import com.estrada.budget.util.JsonPersistence;
+import com.estrada.budget.util.PdfStatementImporter;
+import com.estrada.budget.util.PersistenceService;
+import com.estrada.budget.util.StatementLayout;
+import com.estrada.budget.util.TransactionCategorizer;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless entry point for scripts and cron jobs: same data directory, Budget, importers and
+ * exports as the App, without starting the JavaFX toolkit (this class never touches a javafx
+ * class, so none get loaded).
+ *
+ *   budget summary [--month 2026-10]
+ *   budget import-csv FILE --layout RBFCU|CITI|SAMS_CLUB
+ *   budget import-pdf FILE...
+ *   budget export transactions|categories|balances FILE|- [--from 2026-01-01] [--to ...] [--category NAME]
+ *   budget export-json FILE
+ *   budget serve [--port 8787] [--host 127.0.0.1] [--token SECRET]
+ *
+ * Reports and "-" exports go to stdout; the persistence layer's progress messages go to stderr
+ * so the output can be piped. Exit status is 0 on success, 1 on failure (including the budget
+ * being in use by the App or another writing command) and 2 on bad usage.
+ */
+public final class BudgetCli {
+
+    private static final String USAGE = """
+            Usage: budget <command> [options]
+              summary [--month YYYY-MM]
+              import-csv FILE --layout RBFCU|CITI|SAMS_CLUB
+              import-pdf FILE...
+              export transactions|categories|balances FILE|- [--from DATE] [--to DATE] [--category NAME]
+                     (dates are YYYY-MM-DD for transactions, YYYY-MM for categories)
+              export-json FILE
+              serve [--port 8787] [--host 127.0.0.1] [--token SECRET]
+                    (any host other than loopback needs --token)""";
+
+    private static final Set<String> COMMANDS =
+            Set.of("summary", "import-csv", "import-pdf", "export", "export-json", "serve");
+    private static final Set<String> WRITING_COMMANDS = Set.of("import-csv", "import-pdf", "serve");
+
+    private final PrintStream out;
+    private final List<String> args = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    private BudgetCli(PrintStream out, String[] argv) {
+        this.out = out;
+        for (int i = 0; i < argv.length; i++) {
+            if (argv[i].startsWith("--")) {
+                if (i + 1 >= argv.length) throw new UsageException("Missing value for " + argv[i]);
+                options.put(argv[i].substring(2), argv[++i]);
+            } else {
+                args.add(argv[i]);
+            }
+        }
+    }
+
+    public static void main(String[] argv) {
+        // Keep stdout for the report itself; JsonPersistence and the importers log to System.out
+        PrintStream report = System.out;
+        System.setOut(System.err);
+
+        int status;
+        try {
+            status = new BudgetCli(report, argv).run();
+        } catch (UsageException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            status = 2;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed: " + e.getMessage());
+            status = 1;
+        }
+        report.flush();
+        System.exit(status);
+    }
+
+    private int run() throws IOException {
+        if (args.isEmpty()) throw new UsageException("No command given");
+        String command = args.get(0);
+        if (!COMMANDS.contains(command)) throw new UsageException("Unknown command: " + command);
+        JsonPersistence persistence = new JsonPersistence();
+        // Writers lock the data directory before loading, so the load-modify-save can't
+        // interleave with the App or another CLI; read-only commands just read the snapshot
+        // (atomically replaced) and the journal (a torn last line is tolerated)
+        if (WRITING_COMMANDS.contains(command)) {
+            persistence.lockDataDirectory();
+        }
+        Budget budget = persistence.load();
+
+        switch (command) {
+            case "summary" -> printSummary(budget);
+            case "import-csv" -> importCsv(persistence, budget);
+            case "import-pdf" -> importPdf(persistence, budget);
+            case "export" -> export(budget);
+            case "export-json" -> persistence.exportJson(budget, Path.of(argument(1, "export-json FILE")));
+            case "serve" -> serve(persistence, budget);
+            default -> throw new UsageException("Unknown command: " + command);
+        }
+        return 0;
+    }
+
+    private void printSummary(Budget budget) {
+        YearMonth month = options.containsKey("month") ? parseMonth(options.get("month")) : budget.getCurrentMonth();
+        MonthlySummary summary = budget.summarize(month);
+        out.println("Monthly Summary - " + month.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+        out.println("  Income:    $" + Money.format(summary.incomeCents()));
+        out.println("  Expenses:  $" + Money.format(summary.expenseCents()));
+        out.println("  Balance:   $" + Money.format(summary.balanceCents()));
+        out.println("  " + summary.safetyWarning());
+
+        PeriodSummary lastTwelve = budget.trailingTwelveMonths(month);
+        YearOverYear yoy = budget.yearOverYear(month);
+        String history = "  Last 12 months: $" + Money.format(lastTwelve.expenseCents()) + " spent (avg $"
+                + Money.format(lastTwelve.averageMonthlyExpenseCents()) + "/mo)";
+        if (yoy.hasPriorYear() && !Double.isNaN(yoy.expenseChangeRatio())) {
+            history += String.format(", %+.0f%% vs. %s", yoy.expenseChangeRatio() * 100,
+                    yoy.priorYear().month().format(DateTimeFormatter.ofPattern("MMM yyyy")));
+        }
+        out.println(history);
+
+        out.println();
+        out.printf("  %-28s %12s %12s%n", "Category", "Spent", "Budgeted");
+        for (Category category : budget.getCategories().values()) {
+            out.printf("  %-28s %12s %12s%n", category.getName(),
+                    "$" + Money.format(summary.spent(category.getName())),
+                    "$" + Money.format(category.getBudgetedCents()));
+        }
+
+        out.println();
+        for (BalanceItem item : budget.getBalances()) {
+            out.printf("  %-28s %12s%n", item.getName(), "$" + Money.format(item.getBalanceCents()));
+        }
+    }
+
+    private void importCsv(JsonPersistence persistence, Budget budget) throws IOException {
+        Path csv = Path.of(argument(1, "import-csv FILE --layout LAYOUT"));
+        String layoutName = options.get("layout");
+        if (layoutName == null) throw new UsageException("import-csv needs --layout RBFCU|CITI|SAMS_CLUB");
+        StatementLayout layout;
+        try {
+            layout = StatementLayout.valueOf(layoutName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new UsageException("Unknown layout: " + layoutName);
+        }
+
+        CsvStatementImporter importer = new CsvStatementImporter();
+        importer.setCategorizer(categorizer(budget));
+        CsvStatementImporter.ImportResult result = importer.importInto(csv, layout, budget);
+        persistence.save(budget);
+        out.println("Imported " + result.imported() + " transaction(s)"
+                + (result.skipped() > 0 ? ", skipped " + result.skipped() + " row(s)" : ""));
+    }
+
+    private void importPdf(JsonPersistence persistence, Budget budget) throws IOException {
+        if (args.size() < 2) throw new UsageException("import-pdf needs at least one FILE");
+        List<Path> statements = args.subList(1, args.size()).stream().map(Path::of).toList();
+
+        PdfStatementImporter importer = new PdfStatementImporter();
+        importer.setCategorizer(categorizer(budget));
+        List<PdfStatementImporter.StatementExtract> extracts = importer.importInto(statements, budget);
+        persistence.save(budget);
+        for (PdfStatementImporter.StatementExtract extract : extracts) {
+            if (extract.layout() == null) {
+                out.println(extract.source().getFileName() + ": account not recognized, skipped");
+                continue;
+            }
+            out.print(extract.source().getFileName() + ": " + extract.transactions().size() + " transaction(s)");
+            if (extract.endingBalanceCents() != null) {
+                out.print(", " + extract.layout().getAccountName() + " balance $"
+                        + Money.format(extract.endingBalanceCents()));
+            }
+            out.println();
+        }
+    }
+
+    private void export(Budget budget) throws IOException {
+        String kind = argument(1, "export KIND FILE");
+        String target = argument(2, "export KIND FILE");
+        String category = options.get("category");
+
+        Writer writer = target.equals("-")
+                ? new OutputStreamWriter(out, StandardCharsets.UTF_8)
+                : null;
+        Path file = writer == null ? Path.of(target) : null;
+        int rows = switch (kind) {
+            case "transactions" -> {
+                LocalDate from = options.containsKey("from") ? parseDate(options.get("from")) : null;
+                LocalDate to = options.containsKey("to") ? parseDate(options.get("to")) : null;
+                yield writer != null
+                        ? ExportUtil.exportTransactions(budget, writer, from, to, category)
+                        : ExportUtil.exportTransactions(budget, file, from, to, category);
+            }
+            case "categories" -> {
+                YearMonth from = options.containsKey("from") ? parseMonth(options.get("from")) : null;
+                YearMonth to = options.containsKey("to") ? parseMonth(options.get("to")) : null;
+                yield writer != null
+                        ? ExportUtil.exportCategorySummaries(budget, writer, from, to, category)
+                        : ExportUtil.exportCategorySummaries(budget, file, from, to, category);
+            }
+            case "balances" -> writer != null
+                    ? ExportUtil.exportBalances(budget, writer)
+                    : ExportUtil.exportBalances(budget, file);
+            default -> throw new UsageException("Unknown export: " + kind);
+        };
+        if (writer != null) writer.flush();
+        System.err.println("Exported " + rows + " row(s)" + (file != null ? " to " + file : ""));
+    }
+
+    /** Runs the LAN API until the process is stopped (Ctrl-C / SIGTERM), then saves. */
+    private void serve(JsonPersistence persistence, Budget budget) throws IOException {
+        int port = options.containsKey("port") ? parsePort(options.get("port")) : BudgetApiServer.DEFAULT_PORT;
+        PersistenceService service = new PersistenceService(persistence, budget,
+                ex -> System.err.println("Failed to save: " + ex.getMessage()));
+        BudgetApiServer server = new BudgetApiServer(service, categorizer(budget), options.get("token"));
+        server.start(options.getOrDefault("host", BudgetApiServer.DEFAULT_HOST), port);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            service.save();
+            service.shutdown(10, TimeUnit.SECONDS);
+            stopped.countDown();
+        }, "budget-cli-shutdown"));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Merchant rules plus whatever categories were picked by hand before, as the App does
+    private static TransactionCategorizer categorizer(Budget budget) {
+        TransactionCategorizer categorizer = TransactionCategorizer.withDefaultRules();
+        categorizer.learnFrom(budget.getTransactions());
+        return categorizer;
+    }
+
+    private String argument(int index, String usage) {
+        if (args.size() <= index) throw new UsageException("Usage: budget " + usage);
+        return args.get(index);
+    }
+
+    private static YearMonth parseMonth(String text) {
+        try {
+            return YearMonth.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new UsageException("Not a month (YYYY-MM): " + text);
+        }
+    }
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new UsageException("Not a date (YYYY-MM-DD): " + text);
+        }
+    }
+
+    private static int parsePort(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new UsageException("Not a port number: " + text);
+        }
+    }
+
+    private static final class UsageException extends RuntimeException {
+        UsageException(String message) {
+            super(message);
+        }
+    }
+}
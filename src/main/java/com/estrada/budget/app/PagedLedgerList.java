@@ -0,0 +1,52 @@
+package com.estrada.budget.app;
+
+import com.estrada.budget.model.Transaction;
+import com.estrada.budget.model.TransactionLedger;
+import javafx.collections.ObservableListBase;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed, read-only ObservableList over a TransactionLedger for the ledger TableView. The table
+ * only asks for the rows it is about to draw, so they are fetched a page at a time and just the
+ * most recently used pages are kept: scrolling a 500k-row history holds at most
+ * MAX_PAGES * PAGE_SIZE transactions. A new filter or a changed history gets a new list.
+ */
+final class PagedLedgerList extends ObservableListBase<Transaction> {
+
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_PAGES = 8;
+
+    private final TransactionLedger ledger;
+    private final Map<Integer, List<Transaction>> pages = new LinkedHashMap<>(MAX_PAGES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+
+    PagedLedgerList(TransactionLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    TransactionLedger getLedger() {
+        return ledger;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        if (index < 0 || index >= ledger.size()) throw new IndexOutOfBoundsException(index);
+        List<Transaction> page = pages.computeIfAbsent(index / PAGE_SIZE,
+                p -> ledger.rows(p * PAGE_SIZE, (p + 1) * PAGE_SIZE));
+        int offset = index % PAGE_SIZE;
+        // Only short when the ledger went stale mid-scroll; the pop-up swaps in a fresh list
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return ledger.size();
+    }
+}
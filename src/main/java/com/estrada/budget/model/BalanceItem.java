@@ -1,12 +1,19 @@
 package com.estrada.budget.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class BalanceItem {
     private String name;
-    private double balance;
+    private long balanceCents;
+
+    public BalanceItem() {
+        // Default for Jackson
+    }
 
-    public BalanceItem(String name, double balance) {
+    public BalanceItem(String name, long balanceCents) {
         this.name = name;
-        this.balance = balance;
+        this.balanceCents = balanceCents;
     }
 
     public String getName() {
@@ -17,16 +24,16 @@ public class BalanceItem {
         this.name = name;
     }
 
-    public double getBalance() {
-        return balance;
+    public long getBalanceCents() {
+        return balanceCents;
     }
 
-    public void setBalance(double balance) {
-        this.balance = balance;
+    public void setBalanceCents(long balanceCents) {
+        this.balanceCents = balanceCents;
     }
 
     @Override
     public String toString() {
-        return name + ": $" + String.format("%.2f", balance);
+        return name + ": $" + Money.format(balanceCents);
     }
-}
\ No newline at end of file
+}
@@ -1,96 +1,856 @@
 package com.estrada.budget.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
+/**
+ * The family budget: categories, transactions (partitioned by month, with running totals),
+ * balances and scheduled payments.
+ *
+ * Thread-safe. Every method takes an internal read/write lock, so concurrent importers, the
+ * persistence writer and the FX thread never see half-applied totals, and summaries are
+ * consistent snapshots. Category spend counters are LongAdders. Collection getters
+ * (getTransactions, getCategories, getBalances) return live views: iterate them under
+ * {@link #readLock()}. Changes that must land together, such as a statement import and the
+ * balances it reports, go through one method ({@link #applyImport}) that holds the write lock
+ * for all of them.
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Budget {
 
-    private YearMonth currentMonth = YearMonth.now();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guards the lazily built derived views below (scheduledByDueDate, scheduleIndex, recurringIndex),
+    // which readers build and RecurrenceIndex mutates on every query. Only ever taken while holding
+    // the read lock, so those queries work under readLock(); writers hold the write lock, which
+    // already excludes every holder of this one, and change the views without it.
+    private final ReentrantLock indexLock = new ReentrantLock();
+
+    // "Now" for month roll-over and undated entries; pinned by tests and benchmarks (see setClock)
+    private volatile Clock clock = Clock.systemDefaultZone();
+    private volatile YearMonth currentMonth = YearMonth.now();
     private Map<String, Category> categories = new HashMap<>();
-    private List<Transaction> transactions = new ArrayList<>();
+    // Transactions partitioned by month; each partition carries its own running totals.
+    // -Dbudget.storage=columnar selects primitive-column partitions for very large histories.
+    private TransactionStore transactions = newStore("columnar".equals(System.getProperty("budget.storage")));
+    // Summaries of closed months (before currentMonth), frozen on first use; a back-dated change drops its month
+    // (concurrent: summaries are frozen by readers holding only the read lock)
+    private final Map<YearMonth, MonthlySummary> closedSummaries = new ConcurrentHashMap<>();
+
+    // Account / card / loan balances shown in the Current Balances pop-up
+    private final List<BalanceItem> balances = new ArrayList<>();
+
+    // Bills and deposits shown in the Upcoming Payments/Deposits pop-up
+    private final List<ScheduledPayment> scheduledPayments = new ArrayList<>();
+    // Derived views of scheduledPayments, rebuilt on first use after a change (null = stale)
+    private List<ScheduledPayment> scheduledByDueDate;
+    private LocalDate scheduledByDueDateAsOf;
+    private RecurrenceIndex<ScheduledPayment> scheduleIndex;
+
+    // Bumped on every change to the transaction history (see TransactionLedger.isStale)
+    private volatile long revision = 0;
+
+    // Last journal record already folded into this snapshot (see TransactionJournal)
+    private volatile long journalSequence = 0;
+
+    // Latest transaction of each recurring series, keyed by next due date; built on first use (null = stale)
+    private RecurrenceIndex<Transaction> recurringIndex;
+    private Map<String, Transaction> recurringSeries;
+
+    // Stable index per category name; per-month spend arrays are laid out in this order
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private List<String> categoryNames = List.of();
 
     public Budget() {
         this.currentMonth = YearMonth.now();
 
         // Updated categories from your February statement + dog training
-        addCategory(new Category("Javier's Military Retirement", 4298.00));
-        addCategory(new Category("Alesha's Payroll", 3608.00));
-        addCategory(new Category("Tax Refunds / Other Income", 0.00));
-
-        addCategory(new Category("Mortgage", 3303.00));
-        addCategory(new Category("Amazon / Online Shopping", 400.00));
-        addCategory(new Category("Pet Care", 200.00));
-        addCategory(new Category("Pet Training / Boarding", 0.00));   // ← For Darious & Bear
-        addCategory(new Category("Subscriptions & Streaming", 100.00));
-        addCategory(new Category("T-Mobile", 262.00));
-        addCategory(new Category("Groceries", 650.00));
-        addCategory(new Category("Dining Out / Fast Food", 250.00));
-        addCategory(new Category("Utilities", 380.00));
-        addCategory(new Category("Credit Card Payments", 500.00));
-        addCategory(new Category("Former Spouse Support", 1522.00));
-        addCategory(new Category("SBP Costs", 212.00));
-        addCategory(new Category("Health Insurance / TriWest", 64.00));
-        addCategory(new Category("Miscellaneous", 300.00));
+        addCategory(new Category("Javier's Military Retirement", 4298_00));
+        addCategory(new Category("Alesha's Payroll", 3608_00));
+        addCategory(new Category("Tax Refunds / Other Income", 0));
+
+        addCategory(new Category("Mortgage", 3303_00));
+        addCategory(new Category("Amazon / Online Shopping", 400_00));
+        addCategory(new Category("Pet Care", 200_00));
+        addCategory(new Category("Pet Training / Boarding", 0));   // ← For Darious & Bear
+        addCategory(new Category("Subscriptions & Streaming", 100_00));
+        addCategory(new Category("T-Mobile", 262_00));
+        addCategory(new Category("Groceries", 650_00));
+        addCategory(new Category("Dining Out / Fast Food", 250_00));
+        addCategory(new Category("Utilities", 380_00));
+        addCategory(new Category("Credit Card Payments", 500_00));
+        addCategory(new Category("Former Spouse Support", 1522_00));
+        addCategory(new Category("SBP Costs", 212_00));
+        addCategory(new Category("Health Insurance / TriWest", 64_00));
+        addCategory(new Category("Miscellaneous", 300_00));
+
+        balances.add(new BalanceItem("RBFCU Checking", 3581_20)); // From Jan 2026 statement
+        balances.add(new BalanceItem("Sam's Club Mastercard", 2558_83));
+        balances.add(new BalanceItem("Citi Card", 6594_60));
+        balances.add(new BalanceItem("Mortgage", 0));
+        balances.add(new BalanceItem("Regions Bank Loan", 0));
+        balances.add(new BalanceItem("Buckle", 0));
+        balances.add(new BalanceItem("Cosco", 0));
+        balances.add(new BalanceItem("AFEES", 0));
+
+        LocalDate jan2026 = LocalDate.of(2026, 1, 1);
+        schedule("Regions Bank Loan", 500_00, LocalDate.of(2026, 1, 15), null, null);
+        schedule("DFAS Net Pay Deposit", 1440_52, LocalDate.of(2026, 1, 30), null, null).setType(Transaction.TransactionType.INCOME);
+        schedule("Sam's Club Min Payment", 74_00, LocalDate.of(2026, 2, 7), null, null);
+        schedule("iCloud", 2_99, LocalDate.of(2026, 2, 24), null, null);
+        schedule("Citi Min Payment", 182_30, LocalDate.of(2025, 12, 22), null, null);
+        schedule("Tractive Renewal", 220_83, LocalDate.of(2027, 12, 22), null, null);
+        schedule("Mortgage", 3325_10, jan2026, Transaction.RecurrenceType.MONTHLY, null);
+        schedule("T-Mobile", 243_13, jan2026.withDayOfMonth(2), Transaction.RecurrenceType.MONTHLY, null);
+        schedule("Veteran Energy", 400_00, jan2026.withDayOfMonth(5), Transaction.RecurrenceType.MONTHLY, null);
+        schedule("Salado Water", 60_00, jan2026, Transaction.RecurrenceType.MONTHLY, "due 1st-5th");
+        schedule("Banfield Pet Hospital", 146_30, jan2026.withDayOfMonth(6), Transaction.RecurrenceType.MONTHLY, null);
+        // Taken out before the DFAS net pay deposit: shown, but never paid from checking
+        schedule("TriWest Health", 63_75, jan2026, Transaction.RecurrenceType.MONTHLY, "DFAS deduction").setWithheld(true);
+        schedule("SBP Deduction", 212_41, jan2026, Transaction.RecurrenceType.MONTHLY, "DFAS deduction").setWithheld(true);
+        schedule("Former Spouse", 1522_29, jan2026, Transaction.RecurrenceType.MONTHLY, "DFAS deduction").setWithheld(true);
+        schedule("Fed Tax Withheld", 18_03, jan2026, Transaction.RecurrenceType.MONTHLY, "DFAS deduction").setWithheld(true);
+        schedule("VA Compensation Deposit", 4298_04, jan2026.withDayOfMonth(31), Transaction.RecurrenceType.MONTHLY, null)
+                .setType(Transaction.TransactionType.INCOME); // anchored on the 31st = last day of every month
+        schedule("Wife's Payroll (GREENSTATE)", 1620_00, jan2026.withDayOfMonth(7), Transaction.RecurrenceType.BIWEEKLY, null)
+                .setType(Transaction.TransactionType.INCOME);
+    }
+
+    private ScheduledPayment schedule(String payee, long cents, LocalDate due, Transaction.RecurrenceType recurrence, String note) {
+        ScheduledPayment p = new ScheduledPayment(payee, cents, Transaction.TransactionType.EXPENSE, due, recurrence);
+        p.setNote(note);
+        scheduledPayments.add(p);
+        return p;
     }
 
     public void addCategory(Category category) {
-        if (category != null && category.getName() != null) {
-            categories.put(category.getName(), category);
+        lock.writeLock().lock();
+        try {
+            if (category != null && category.getName() != null) {
+                categories.put(category.getName(), category);
+                indexOf(category.getName());
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     public void addTransaction(Transaction t) {
-        if (t != null) {
-            transactions.add(t);
-            if (t.getType() == Transaction.TransactionType.INCOME) {
-                // Income does nothing to categories
-            } else {
+        lock.writeLock().lock();
+        try {
+            if (t != null) {
+                rollOver();
+                add(t);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a batch of transactions (bulk imports).
+     */
+    public void addTransactions(Collection<Transaction> batch) {
+        lock.writeLock().lock();
+        try {
+            rollOver();
+            for (Transaction t : batch) {
+                if (t != null) add(t);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a statement import in one step: adds the transactions, then sets each account's
+     * balance (in the map's iteration order), so no reader sees the rows without the balances.
+     */
+    public void applyImport(Collection<Transaction> batch, Map<String, Long> balanceCents) {
+        lock.writeLock().lock();
+        try {
+            rollOver();
+            for (Transaction t : batch) {
+                if (t != null) add(t);
+            }
+            balanceCents.forEach(this::putBalance);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Transaction t) {
+        if (t.getDate() == null) t.setDate(LocalDate.now(clock));
+        MonthSegment segment = transactions.add(t);
+        segment.totals.apply(t, indexOf(t.getCategory()), 1);
+        monthChanged(segment.month);
+        if (t.isRecurring() && recurringIndex != null) trackRecurring(t);
+        if (t.getType() == Transaction.TransactionType.INCOME || !segment.month.equals(currentMonth)) {
+            // Income does nothing to categories, and categories only track the current month
+        } else {
+            Category cat = categories.get(t.getCategory());
+            if (cat != null) cat.addSpent(t.getAmountCents());
+        }
+    }
+
+    /**
+     * Removes a transaction and backs it out of the running totals.
+     * Returns false if the transaction is not part of this budget.
+     */
+    public boolean removeTransaction(Transaction t) {
+        lock.writeLock().lock();
+        try {
+            MonthSegment segment = t != null ? transactions.remove(t) : null;
+            if (segment == null) {
+                return false;
+            }
+            segment.totals.apply(t, indexOf(t.getCategory()), -1);
+            monthChanged(segment.month);
+            if (t.isRecurring()) recurringIndex = null;
+            if (t.getType() != Transaction.TransactionType.INCOME && segment.month.equals(currentMonth)) {
                 Category cat = categories.get(t.getCategory());
-                if (cat != null) cat.addSpent(t.getAmount());
+                if (cat != null) cat.removeSpent(t.getAmountCents());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces an existing transaction with an edited copy, keeping totals in step.
+     * Edits must go through here rather than the Transaction setters.
+     */
+    public boolean updateTransaction(Transaction existing, Transaction edited) {
+        lock.writeLock().lock();
+        try {
+            if (edited == null || !removeTransaction(existing)) {
+                return false;
+            }
+            addTransaction(edited);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves on to the calendar month if it has started since the last transaction or summary.
+     */
+    private void rollOver() {
+        YearMonth now = YearMonth.now(clock);
+        // A read lock cannot be upgraded; a reader just sees the old month until the next write
+        if (now.isAfter(currentMonth) && lock.getReadHoldCount() == 0) rollOver(now);
+    }
+
+    /**
+     * Makes the month current and closes every month before it: closed months are archived as
+     * compact columnar partitions, and category spend is re-read from the new month's totals
+     * (so it restarts at zero rather than carrying last month over). Runs automatically when a
+     * transaction arrives in a new calendar month, and on load. Never moves backwards.
+     */
+    public void rollOver(YearMonth month) {
+        lock.writeLock().lock();
+        try {
+            if (month.isBefore(currentMonth)) return;
+            if (month.isAfter(currentMonth)) {
+                currentMonth = month;
+                closedSummaries.clear(); // the previously open month is frozen fresh on first use
             }
+            transactions.archiveBefore(month);
+            MonthSegment segment = transactions.segment(month);
+            for (Category c : categories.values()) {
+                c.setSpentThisMonthCents(segment != null ? segment.totals.spent(indexOf(c.getName())) : 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Summary of the current month, read straight from the running totals.
+     */
+    public MonthlySummary summarize() {
+        rollOver();
+        return summarize(currentMonth);
+    }
+
+    /**
+     * Summary of any month. Closed months are summarized once and then served frozen
+     * until a back-dated transaction changes them.
+     */
+    public MonthlySummary summarize(YearMonth month) {
+        lock.readLock().lock();
+        try {
+            if (!month.isBefore(currentMonth)) {
+                return buildSummary(month);
+            }
+            MonthlySummary frozen = closedSummaries.get(month);
+            if (frozen == null) {
+                frozen = buildSummary(month);
+                closedSummaries.put(month, frozen);
+            }
+            return frozen;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MonthlySummary buildSummary(YearMonth month) {
+        MonthSegment segment = transactions.segment(month);
+        if (segment == null) {
+            return new MonthlySummary(month, 0, 0, categoryNames, new long[0]);
+        }
+        MonthTotals totals = segment.totals;
+        return new MonthlySummary(month, totals.income, totals.expense, categoryNames, totals.spent);
+    }
+
+    /**
+     * Totals across the months [from, to] inclusive, summed from each month's running
+     * totals: O(months × categories), independent of the number of transactions.
+     */
+    public PeriodSummary summarizePeriod(YearMonth from, YearMonth to) {
+        lock.readLock().lock();
+        try {
+            long income = 0;
+            long expense = 0;
+            long[] spent = new long[categoryNames.size()];
+            if (!from.isAfter(to)) {
+                for (MonthSegment segment : transactions.segmentsBetween(from, to)) {
+                    MonthTotals totals = segment.totals;
+                    income += totals.income;
+                    expense += totals.expense;
+                    int n = Math.min(spent.length, totals.spent.length);
+                    for (int i = 0; i < n; i++) {
+                        spent[i] += totals.spent[i];
+                    }
+                }
+            }
+            return new PeriodSummary(from, to, income, expense, categoryNames, spent);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The twelve months ending with (and including) the current month.
+     */
+    public PeriodSummary trailingTwelveMonths() {
+        return trailingTwelveMonths(currentMonth);
+    }
+
+    public PeriodSummary trailingTwelveMonths(YearMonth through) {
+        return summarizePeriod(through.minusMonths(11), through);
+    }
+
+    /**
+     * Category × month × type amounts for [from, to] inclusive, copied from the running
+     * per-month totals: O(months × categories), independent of the number of transactions.
+     */
+    public RollupCube rollup(YearMonth from, YearMonth to) {
+        lock.readLock().lock();
+        try {
+            List<Category> all = new ArrayList<>(categories.values());
+            int[] indexes = new int[all.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = knownIndexOf(all.get(i).getName());
+            }
+            long[] budgeted = new long[categoryNames.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                if (indexes[i] >= 0) budgeted[indexes[i]] = all.get(i).getBudgetedCents();
+            }
+
+            RollupCube cube = new RollupCube(from, to, categoryNames, budgeted);
+            for (MonthSegment segment : transactions.segmentsBetween(from, to)) {
+                cube.add(segment.month, segment.totals);
+            }
+            return cube;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The month next to the same month one year earlier.
+     */
+    public YearOverYear yearOverYear(YearMonth month) {
+        lock.readLock().lock();
+        try {
+            return new YearOverYear(summarize(month), summarize(month.minusYears(1)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A transaction was added to or removed from the month, so any frozen summary of it is stale
+    private void monthChanged(YearMonth month) {
+        if (month.isBefore(currentMonth)) closedSummaries.remove(month);
+        revision++;
+    }
+
+    /**
+     * @deprecated map-shaped view kept for older callers; use {@link #summarize()}.
+     */
+    @Deprecated
+    @JsonIgnore
     public Map<String, Object> getMonthlySummary() {
-        double totalIncome = 0.0;
-        double totalExpense = 0.0;
+        return summarize().toMap();
+    }
+
+    /**
+     * Recomputes every month's totals from its transactions and compares them with
+     * the running aggregates. Intended for verification, not the hot path.
+     */
+    public boolean verifyTotals() {
+        lock.readLock().lock();
+        try {
+            for (MonthSegment segment : transactions.segments()) {
+                if (!segment.totals.matches(segment.recomputeTotals(this::knownIndexOf))) return false;
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Transactions dated within [from, to] inclusive, in date order.
+     * Only the month partitions overlapping the range are visited.
+     */
+    public List<Transaction> transactionsBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<Transaction> result = new ArrayList<>();
+            transactions.forEachBetween(from, to, result::add);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Streaming form of transactionsBetween for large ranges; null bounds mean open-ended.
+     */
+    public void forEachTransactionBetween(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        lock.readLock().lock();
+        try {
+            transactions.forEachBetween(from, to, action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-        for (Transaction t : transactions) {
-            if (t.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome += t.getAmount();
-            } else {
-                totalExpense += t.getAmount();
+    /**
+     * Transactions of one category dated within [from, to], scanning only the overlapping months.
+     */
+    public List<Transaction> transactionsInCategory(String category, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<Transaction> result = new ArrayList<>();
+            transactions.forEachBetween(from, to, t -> {
+                if (Objects.equals(category, t.getCategory())) result.add(t);
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Date-ordered transactions of a single month (a copy).
+     */
+    public List<Transaction> transactionsIn(YearMonth month) {
+        lock.readLock().lock();
+        try {
+            MonthSegment segment = transactions.segment(month);
+            return segment != null ? List.copyOf(segment.view()) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Paged, date-ordered view of the whole history for the ledger table, optionally limited to
+     * one category and/or type (null = any). Building it scans the category and type of each row
+     * once but materializes nothing; see {@link TransactionLedger}.
+     */
+    public TransactionLedger ledger(String category, Transaction.TransactionType type, boolean newestFirst) {
+        lock.readLock().lock();
+        try {
+            int categoryId = knownIndexOf(category);
+            List<MonthSegment> months = new ArrayList<>();
+            List<int[]> positions = new ArrayList<>();
+            // A category that was never used cannot match anything
+            if (category == null || categoryId >= 0) {
+                for (MonthSegment segment : transactions.segments()) {
+                    int[] matching = category == null && type == null
+                            ? null : segment.positionsMatching(category, categoryId, type);
+                    int count = matching != null ? matching.length : segment.size();
+                    if (count == 0) continue;
+                    months.add(segment);
+                    positions.add(matching);
+                }
             }
+            if (newestFirst) {
+                Collections.reverse(months);
+                Collections.reverse(positions);
+            }
+            return new TransactionLedger(this, revision, newestFirst, months, positions);
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        double balance = totalIncome - totalExpense;
+    /** Bumped on every change to the transaction history, so views can tell they are stale. */
+    @JsonIgnore
+    public long getRevision() {
+        return revision;
+    }
 
-        Map<String, Double> categorySpent = new HashMap<>();
-        for (Map.Entry<String, Category> entry : categories.entrySet()) {
-            categorySpent.put(entry.getKey(), entry.getValue().getSpentThisMonth());
+    /**
+     * Months that have at least one transaction, oldest first.
+     */
+    public NavigableSet<YearMonth> transactionMonths() {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableNavigableSet(new TreeSet<>(transactions.months()));
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("month", currentMonth.toString());
-        summary.put("income", totalIncome);
-        summary.put("expense", totalExpense);
-        summary.put("balance", balance);
-        summary.put("categorySpent", categorySpent);
+    /**
+     * Future occurrences of recurring transactions within [from, to], in date order.
+     * Each series (same description, category, type and recurrence) repeats from its latest
+     * recorded transaction; only series actually due in the window are visited.
+     */
+    public List<RecurrenceIndex.Due<Transaction>> recurringDueBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        indexLock.lock();
+        try {
+            return recurringIndex().dueBetween(from, to);
+        } finally {
+            indexLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recurring occurrences due from today through the next {@code days} days.
+     */
+    public List<RecurrenceIndex.Due<Transaction>> upcomingRecurring(int days) {
+        LocalDate today = LocalDate.now(clock);
+        return recurringDueBetween(today, today.plusDays(days));
+    }
+
+    private RecurrenceIndex<Transaction> recurringIndex() {
+        if (recurringIndex == null) {
+            recurringIndex = new RecurrenceIndex<>();
+            recurringSeries = new HashMap<>();
+            for (Transaction t : transactions.asList()) {
+                if (t.isRecurring()) trackRecurring(t);
+            }
+        }
+        return recurringIndex;
+    }
 
-        summary.put("safetyWarning", balance < 1000 ?
-                "⚠️ WARNING: Projected balance may drop below safe buffer ($1,000)!" :
-                "✅ Safe buffer maintained");
+    private void trackRecurring(Transaction t) {
+        if (t.getRecurrenceType() == null) return;
+        String key = t.getDescription() + '\u0000' + t.getCategory() + '\u0000' + t.getType()
+                + '\u0000' + t.getRecurrenceType();
+        Transaction previous = recurringSeries.get(key);
+        if (previous != null) {
+            if (previous.getDate().isAfter(t.getDate())) return;
+            recurringIndex.remove(previous);
+        }
+        recurringSeries.put(key, t);
+        recurringIndex.add(t, RecurrenceRule.following(t.getDate(), t.getRecurrenceType()));
+    }
 
-        return summary;
+    // Index for read paths, which must not assign one (-1 if the name was never seen)
+    private int knownIndexOf(String categoryName) {
+        Integer index = categoryName != null ? categoryIndex.get(categoryName) : null;
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Index of a category name in the per-month spend arrays, assigned on first sight.
+     * Returns -1 for transactions without a category.
+     */
+    private int indexOf(String categoryName) {
+        if (categoryName == null) return -1;
+        Integer index = categoryIndex.get(categoryName);
+        if (index == null) {
+            index = categoryNames.size();
+            categoryIndex.put(categoryName, index);
+            List<String> names = new ArrayList<>(categoryNames);
+            names.add(categoryName);
+            categoryNames = List.copyOf(names);
+        }
+        return index;
+    }
+
+    /**
+     * Switches between object and primitive-column transaction storage, moving existing rows across.
+     * With columnar storage, getTransactions() and the query methods return detached copies.
+     */
+    public void setColumnarStorage(boolean columnar) {
+        lock.writeLock().lock();
+        try {
+            // Closed months stay columnar either way (see rollOver)
+            if (columnar == transactions.isColumnar()) return;
+            TransactionStore previous = transactions;
+            transactions = newStore(columnar);
+            recurringIndex = null;
+            revision++;
+            for (Transaction t : previous.asList()) {
+                transactions.add(t).totals.apply(t, indexOf(t.getCategory()), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @JsonIgnore
+    public boolean isColumnarStorage() {
+        return transactions.isColumnar();
+    }
+
+    private TransactionStore newStore(boolean columnar) {
+        TransactionStore store = new TransactionStore(columnar, this::indexOf, i -> categoryNames.get(i));
+        store.archiveBefore(currentMonth);
+        return store;
+    }
+
+    /**
+     * Replaces the clock that decides when a new month has started (and dates undated entries).
+     * For tests and benchmarks that need a fixed "today": pair it with setCurrentMonth, since a
+     * budget only rolls forward on its own.
+     */
+    @JsonIgnore
+    public void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
     }
 
     public YearMonth getCurrentMonth() { return currentMonth; }
+    /** Used when loading a snapshot; use {@link #rollOver(YearMonth)} to advance a live budget. */
     public void setCurrentMonth(YearMonth currentMonth) {
-        this.currentMonth = (currentMonth != null) ? currentMonth : YearMonth.now();
+        lock.writeLock().lock();
+        try {
+            this.currentMonth = (currentMonth != null) ? currentMonth : YearMonth.now(clock);
+            closedSummaries.clear();
+            transactions.archiveBefore(this.currentMonth);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public Map<String, Category> getCategories() { return categories; }
-    public List<Transaction> getTransactions() { return transactions; }
+    /** All transactions in date order (read-only live view across the month partitions; iterate under {@link #readLock()}). */
+    public List<Transaction> getTransactions() { return transactions.asList(); }
+
+    /**
+     * Holds off writers for a multi-step read, such as writing a snapshot or export from the live
+     * views. Reentrant; do not call methods that change the budget while holding it.
+     */
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Used when loading a snapshot. Category spent amounts are persisted separately,
+     * so this only rebuilds the running totals.
+     */
+    @JsonSetter("transactions")
+    public void setTransactions(List<Transaction> loaded) {
+        lock.writeLock().lock();
+        try {
+            transactions.clear();
+            closedSummaries.clear();
+            recurringIndex = null;
+            revision++;
+            if (loaded == null) return;
+            for (Transaction t : loaded) {
+                restoreTransaction(t);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a transaction read back from a snapshot. Unlike addTransaction it leaves
+     * category spent amounts alone, because snapshots persist those directly.
+     */
+    public void restoreTransaction(Transaction t) {
+        lock.writeLock().lock();
+        try {
+            if (t == null) return;
+            if (t.getDate() == null) t.setDate(LocalDate.now(clock));
+            MonthSegment segment = transactions.add(t);
+            segment.totals.apply(t, indexOf(t.getCategory()), 1);
+            monthChanged(segment.month);
+            if (t.isRecurring()) recurringIndex = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BalanceItem> getBalances() { return balances; }
+
+    /** Replaces all balances (snapshot load, or the balances pop-up after editing). */
+    @JsonSetter("balances")
+    public void setBalances(List<BalanceItem> updated) {
+        lock.writeLock().lock();
+        try {
+            balances.clear();
+            if (updated != null) balances.addAll(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the balance of the named account, adding it if it is not tracked yet.
+     */
+    public void updateBalance(String name, long balanceCents) {
+        lock.writeLock().lock();
+        try {
+            putBalance(name, balanceCents);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putBalance(String name, long balanceCents) {
+        for (BalanceItem item : balances) {
+            if (item.getName().equals(name)) {
+                item.setBalanceCents(balanceCents);
+                return;
+            }
+        }
+        balances.add(new BalanceItem(name, balanceCents));
+    }
+
+    public List<ScheduledPayment> getScheduledPayments() { return Collections.unmodifiableList(scheduledPayments); }
+
+    /** Replaces all scheduled payments (snapshot load). */
+    @JsonSetter("scheduledPayments")
+    public void setScheduledPayments(List<ScheduledPayment> loaded) {
+        lock.writeLock().lock();
+        try {
+            scheduledPayments.clear();
+            if (loaded != null) scheduledPayments.addAll(loaded);
+            scheduleChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addScheduledPayment(ScheduledPayment payment) {
+        lock.writeLock().lock();
+        try {
+            scheduledPayments.add(payment);
+            scheduleChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeScheduledPayment(ScheduledPayment payment) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = scheduledPayments.remove(payment);
+            if (removed) scheduleChanged();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks every occurrence on or before the date as paid (null clears the paid state).
+     */
+    public void markPaidThrough(ScheduledPayment payment, LocalDate through) {
+        lock.writeLock().lock();
+        try {
+            payment.setPaidThrough(through);
+            scheduleChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a one-time item paid, or the next unpaid occurrence (as of the day) of a recurring one.
+     */
+    public void markNextPaid(ScheduledPayment payment, LocalDate asOf) {
+        lock.writeLock().lock();
+        try {
+            LocalDate next = payment.nextDue(asOf);
+            if (next != null) markPaidThrough(payment, next);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scheduled payments ordered by when they are next due as of the day (paid items last).
+     * Computed once per change and day rather than on every pop-up open.
+     */
+    public List<ScheduledPayment> scheduledByDueDate(LocalDate asOf) {
+        lock.readLock().lock();
+        indexLock.lock();
+        try {
+            if (scheduledByDueDate == null || !asOf.equals(scheduledByDueDateAsOf)) {
+                List<ScheduledPayment> sorted = new ArrayList<>(scheduledPayments);
+                sorted.sort(Comparator.comparing((ScheduledPayment p) -> p.nextDue(asOf),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+                scheduledByDueDate = Collections.unmodifiableList(sorted);
+                scheduledByDueDateAsOf = asOf;
+            }
+            return scheduledByDueDate;
+        } finally {
+            indexLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Unpaid scheduled occurrences within [from, to], in date order.
+     */
+    public List<RecurrenceIndex.Due<ScheduledPayment>> scheduledDueBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        indexLock.lock();
+        try {
+            if (scheduleIndex == null) {
+                scheduleIndex = new RecurrenceIndex<>();
+                for (ScheduledPayment p : scheduledPayments) {
+                    RecurrenceRule rule = p.rule();
+                    if (rule != null) scheduleIndex.add(p, rule);
+                }
+            }
+            return scheduleIndex.dueBetween(from, to);
+        } finally {
+            indexLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scheduleChanged() {
+        scheduledByDueDate = null;
+        scheduleIndex = null;
+    }
+
+    public long getJournalSequence() { return journalSequence; }
+    public void setJournalSequence(long journalSequence) { this.journalSequence = journalSequence; }
 }
\ No newline at end of file
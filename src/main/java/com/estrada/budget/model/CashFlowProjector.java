@@ -0,0 +1,320 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Day-by-day forecast of the checking balance.
+ *
+ * Built from a Budget in one short step under its read lock: the checking balance, every unpaid
+ * scheduled payment paid from checking (withheld items are not) and every recurring-transaction
+ * occurrence in the window are folded into a per-day array of fixed cash flows, and discretionary
+ * categories become a per-day spending rate for each month. After that the projector is independent
+ * of the Budget, so projections and Monte Carlo runs can happen off the FX thread without holding any lock.
+ *
+ * The Monte Carlo mode scales each discretionary category's spending by a random factor per month
+ * (mean 1, spread taken from that category's past months) and reports how often the balance
+ * dips below the safe buffer. Runs are split across the fork-join pool with independent
+ * SplittableRandom streams, so a given seed always gives the same answer.
+ */
+public class CashFlowProjector {
+
+    public static final String CHECKING_ACCOUNT = "RBFCU Checking";
+
+    // Spending that varies month to month; the rest of the budget is covered by bills and deposits
+    public static final Set<String> DISCRETIONARY_CATEGORIES = Set.of(
+            "Groceries", "Dining Out / Fast Food", "Amazon / Online Shopping",
+            "Pet Care", "Pet Training / Boarding", "Miscellaneous");
+
+    private static final double DEFAULT_SPREAD = 0.25; // relative std-dev when there is too little history
+    private static final int HISTORY_MONTHS = 12;
+    private static final int RUNS_PER_TASK = 250;
+
+    private final LocalDate start;
+    private final long startingBalanceCents;
+    private final long[] fixedFlows;        // per day: deposits minus bills
+    private final int[] monthOfDay;         // per day: index into the month arrays
+    private final long[][] dailyRates;      // [month][category]: expected discretionary spend per day
+    private final double[] spreads;         // [category]: relative std-dev of monthly spend
+    private final long bufferCents;
+
+    private CashFlowProjector(LocalDate start, long startingBalanceCents, long[] fixedFlows, int[] monthOfDay,
+                              long[][] dailyRates, double[] spreads, long bufferCents) {
+        this.start = start;
+        this.startingBalanceCents = startingBalanceCents;
+        this.fixedFlows = fixedFlows;
+        this.monthOfDay = monthOfDay;
+        this.dailyRates = dailyRates;
+        this.spreads = spreads;
+        this.bufferCents = bufferCents;
+    }
+
+    /**
+     * Captures everything needed to project {@code months} months ahead from {@code start}.
+     * Holds the budget's read lock for the whole capture, since it iterates the balance and
+     * category views and the numbers should all come from one state of the budget.
+     */
+    public static CashFlowProjector from(Budget budget, LocalDate start, int months) {
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            return capture(budget, start, months);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static CashFlowProjector capture(Budget budget, LocalDate start, int months) {
+        LocalDate end = start.plusMonths(months);
+        int days = (int) ChronoUnit.DAYS.between(start, end);
+
+        long balance = 0;
+        for (BalanceItem item : budget.getBalances()) {
+            if (CHECKING_ACCOUNT.equals(item.getName())) balance = item.getBalanceCents();
+        }
+
+        long[] fixed = new long[days];
+        Set<String> scheduledPayees = new HashSet<>();
+        for (RecurrenceIndex.Due<ScheduledPayment> due : budget.scheduledDueBetween(start, end.minusDays(1))) {
+            ScheduledPayment p = due.item();
+            if (p.getPayee() != null) scheduledPayees.add(p.getPayee().toLowerCase(Locale.ROOT));
+            if (p.isWithheld()) continue;  // already out of the net deposit, never debited from checking
+            fixed[dayIndex(start, due.date())] += p.isIncome() ? p.getAmountCents() : -p.getAmountCents();
+        }
+        for (RecurrenceIndex.Due<Transaction> due : budget.recurringDueBetween(start, end.minusDays(1))) {
+            Transaction t = due.item();
+            // A recurring transaction for a bill that is also scheduled would be counted twice
+            if (t.getDescription() != null && scheduledPayees.contains(t.getDescription().toLowerCase(Locale.ROOT))) continue;
+            fixed[dayIndex(start, due.date())] += t.getType() == Transaction.TransactionType.INCOME ?
+                    t.getAmountCents() : -t.getAmountCents();
+        }
+
+        List<Category> discretionary = new ArrayList<>();
+        for (Category c : budget.getCategories().values()) {
+            if (DISCRETIONARY_CATEGORIES.contains(c.getName()) && c.getBudgetedCents() > 0) discretionary.add(c);
+        }
+
+        // Per month: what is left of each discretionary budget, spread over the remaining days
+        YearMonth first = YearMonth.from(start);
+        int monthCount = (int) ChronoUnit.MONTHS.between(first, YearMonth.from(end.minusDays(1))) + 1;
+        int[] monthOfDay = new int[days];
+        for (int d = 0; d < days; d++) {
+            monthOfDay[d] = (int) ChronoUnit.MONTHS.between(first, YearMonth.from(start.plusDays(d)));
+        }
+        long[][] rates = new long[monthCount][discretionary.size()];
+        MonthlySummary current = budget.summarize(first);
+        for (int m = 0; m < monthCount; m++) {
+            YearMonth month = first.plusMonths(m);
+            int daysLeft = m == 0 ? month.lengthOfMonth() - start.getDayOfMonth() + 1 : month.lengthOfMonth();
+            for (int c = 0; c < discretionary.size(); c++) {
+                Category category = discretionary.get(c);
+                long remaining = category.getBudgetedCents() - (m == 0 ? current.spent(category.getName()) : 0);
+                rates[m][c] = Math.max(0, remaining) / daysLeft;
+            }
+        }
+
+        double[] spreads = new double[discretionary.size()];
+        for (int c = 0; c < discretionary.size(); c++) {
+            spreads[c] = historicalSpread(budget, discretionary.get(c).getName(), first);
+        }
+
+        return new CashFlowProjector(start, balance, fixed, monthOfDay, rates, spreads, MonthlySummary.SAFE_BUFFER_CENTS);
+    }
+
+    /**
+     * The expected path: fixed flows plus discretionary spending at budget.
+     */
+    public Projection project() {
+        return project(null, 0);
+    }
+
+    /**
+     * The expected path with a hypothetical one-off expense on the given day
+     * ("what if I spend this?").
+     */
+    public Projection project(LocalDate extraSpendDate, long extraSpendCents) {
+        long[] balances = new long[fixedFlows.length];
+        int extraDay = extraSpendDate != null ? dayIndex(start, extraSpendDate) : -1;
+        long balance = startingBalanceCents;
+        for (int d = 0; d < fixedFlows.length; d++) {
+            balance += fixedFlows[d];
+            for (long rate : dailyRates[monthOfDay[d]]) balance -= rate;
+            if (d == extraDay) balance -= extraSpendCents;
+            balances[d] = balance;
+        }
+        return new Projection(start, startingBalanceCents, balances, bufferCents);
+    }
+
+    /**
+     * Runs {@code runs} randomized scenarios in parallel on the common fork-join pool.
+     */
+    public MonteCarloResult simulate(int runs, long seed) {
+        return simulate(runs, seed, 0);
+    }
+
+    /**
+     * Monte Carlo with the same hypothetical one-off expense on the first day.
+     */
+    public MonteCarloResult simulate(int runs, long seed, long extraSpendCents) {
+        long[] lows = ForkJoinPool.commonPool().invoke(
+                new SimulationTask(0, runs, new SplittableRandom(seed), extraSpendCents));
+        int breaches = 0;
+        for (long low : lows) {
+            if (low < bufferCents) breaches++;
+        }
+        Arrays.sort(lows);
+        return new MonteCarloResult(runs, runs == 0 ? 0 : (double) breaches / runs,
+                percentile(lows, 0.05), percentile(lows, 0.5), bufferCents);
+    }
+
+    public int days() {
+        return fixedFlows.length;
+    }
+
+    // One scenario: each discretionary category gets a random monthly factor; returns the lowest balance
+    private long lowestBalance(SplittableRandom random, double[][] factors, long extraSpendCents) {
+        for (int m = 0; m < factors.length; m++) {
+            for (int c = 0; c < spreads.length; c++) {
+                factors[m][c] = Math.max(0, 1 + spreads[c] * random.nextGaussian());
+            }
+        }
+        long balance = startingBalanceCents - extraSpendCents;
+        long low = balance;
+        for (int d = 0; d < fixedFlows.length; d++) {
+            balance += fixedFlows[d];
+            long[] rates = dailyRates[monthOfDay[d]];
+            double[] monthFactors = factors[monthOfDay[d]];
+            for (int c = 0; c < rates.length; c++) {
+                balance -= (long) (rates[c] * monthFactors[c]);
+            }
+            if (balance < low) low = balance;
+        }
+        return low;
+    }
+
+    private class SimulationTask extends RecursiveTask<long[]> {
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        private final long extraSpendCents;
+
+        SimulationTask(int from, int to, SplittableRandom random, long extraSpendCents) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.extraSpendCents = extraSpendCents;
+        }
+
+        @Override
+        protected long[] compute() {
+            int count = to - from;
+            if (count <= RUNS_PER_TASK) {
+                long[] lows = new long[count];
+                double[][] factors = new double[dailyRates.length][spreads.length];
+                for (int i = 0; i < count; i++) {
+                    lows[i] = lowestBalance(random, factors, extraSpendCents);
+                }
+                return lows;
+            }
+            int mid = from + count / 2;
+            SimulationTask left = new SimulationTask(from, mid, random.split(), extraSpendCents);
+            SimulationTask right = new SimulationTask(mid, to, random, extraSpendCents);
+            left.fork();
+            long[] rightLows = right.compute();
+            long[] leftLows = left.join();
+            long[] lows = Arrays.copyOf(leftLows, count);
+            System.arraycopy(rightLows, 0, lows, leftLows.length, rightLows.length);
+            return lows;
+        }
+    }
+
+    // Relative std-dev of the category's monthly spend over the past year (months with no spend included)
+    private static double historicalSpread(Budget budget, String category, YearMonth current) {
+        int n = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 1; i <= HISTORY_MONTHS; i++) {
+            YearMonth month = current.minusMonths(i);
+            if (!budget.transactionMonths().contains(month)) continue;
+            double spent = budget.summarize(month).spent(category);
+            sum += spent;
+            sumSquares += spent * spent;
+            n++;
+        }
+        if (n < 3 || sum == 0) return DEFAULT_SPREAD;
+        double mean = sum / n;
+        double variance = Math.max(0, sumSquares / n - mean * mean);
+        return Math.sqrt(variance) / mean;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+
+    private static int dayIndex(LocalDate start, LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(start, date);
+    }
+
+    /**
+     * Expected end-of-day checking balances, one per day from {@code start}.
+     */
+    public record Projection(LocalDate start, long startingBalanceCents, long[] dailyBalanceCents, long bufferCents) {
+
+        public long balanceOn(LocalDate date) {
+            int day = dayIndex(start, date);
+            if (day < 0) return startingBalanceCents;
+            return dailyBalanceCents[Math.min(day, dailyBalanceCents.length - 1)];
+        }
+
+        public long endingBalanceCents() {
+            return dailyBalanceCents.length == 0 ? startingBalanceCents : dailyBalanceCents[dailyBalanceCents.length - 1];
+        }
+
+        public long lowestBalanceCents() {
+            long low = startingBalanceCents;
+            for (long b : dailyBalanceCents) low = Math.min(low, b);
+            return low;
+        }
+
+        public LocalDate lowestBalanceDate() {
+            long low = startingBalanceCents;
+            int day = -1;
+            for (int d = 0; d < dailyBalanceCents.length; d++) {
+                if (dailyBalanceCents[d] < low) {
+                    low = dailyBalanceCents[d];
+                    day = d;
+                }
+            }
+            return day < 0 ? start : start.plusDays(day);
+        }
+
+        /** First day the balance ends below the safe buffer, or null. */
+        public LocalDate firstBreach() {
+            for (int d = 0; d < dailyBalanceCents.length; d++) {
+                if (dailyBalanceCents[d] < bufferCents) return start.plusDays(d);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param breachProbability share of runs whose balance dipped below the buffer at any point
+     * @param lowestP5Cents     5th percentile of each run's lowest balance (a bad case)
+     * @param lowestMedianCents median of each run's lowest balance
+     */
+    public record MonteCarloResult(int runs, double breachProbability, long lowestP5Cents,
+                                   long lowestMedianCents, long bufferCents) {
+    }
+}
@@ -1,54 +1,78 @@
 package com.estrada.budget.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A budget line. Spend this month is a LongAdder, so concurrent writers can add to it without
+ * a lock and without losing updates.
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Category {
 
     private String name;
-    private double budgetedAmount;
-    private double spentThisMonth = 0.0;
+    private long budgetedCents;
+    private final LongAdder spentThisMonthCents = new LongAdder();
 
     public Category() {
         // Default for Jackson
     }
 
-    public Category(String name, double budgetedAmount) {
+    public Category(String name, long budgetedCents) {
         this.name = name;
-        this.budgetedAmount = budgetedAmount;
+        this.budgetedCents = budgetedCents;
+    }
+
+    public void addSpent(long cents) {
+        if (cents > 0) {
+            spentThisMonthCents.add(cents);
+        }
     }
 
-    public void addSpent(double amount) {
-        if (amount > 0) {
-            this.spentThisMonth += amount;
+    public void removeSpent(long cents) {
+        if (cents > 0) {
+            spentThisMonthCents.add(-cents);
         }
     }
 
-    public double getRemaining() {
-        return budgetedAmount - spentThisMonth;
+    public long getRemainingCents() {
+        return budgetedCents - spentThisMonthCents.sum();
     }
 
     public void resetMonthly() {
-        spentThisMonth = 0.0;
+        spentThisMonthCents.reset();
     }
 
     // Getters & Setters
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
-    public double getBudgetedAmount() { return budgetedAmount; }
-    public void setBudgetedAmount(double budgetedAmount) { this.budgetedAmount = budgetedAmount; }
+    public long getBudgetedCents() { return budgetedCents; }
+    public void setBudgetedCents(long budgetedCents) { this.budgetedCents = budgetedCents; }
+
+    public long getSpentThisMonthCents() { return spentThisMonthCents.sum(); }
+    /** Not atomic with concurrent addSpent calls; used on load and month rollover. */
+    public void setSpentThisMonthCents(long cents) {
+        spentThisMonthCents.reset();
+        spentThisMonthCents.add(cents);
+    }
+
+    // Migration from budget.json files written with double dollar amounts
+    @JsonSetter("budgetedAmount")
+    private void setLegacyBudgetedAmount(double dollars) { this.budgetedCents = Money.toCents(dollars); }
 
-    public double getSpentThisMonth() { return spentThisMonth; }
-    public void setSpentThisMonth(double spentThisMonth) { this.spentThisMonth = spentThisMonth; }
+    @JsonSetter("spentThisMonth")
+    private void setLegacySpentThisMonth(double dollars) { setSpentThisMonthCents(Money.toCents(dollars)); }
 
     @Override
     public String toString() {
         return "Category{" +
                 "name='" + name + '\'' +
-                ", budgeted=" + budgetedAmount +
-                ", spent=" + spentThisMonth +
-                ", remaining=" + getRemaining() +
+                ", budgeted=" + Money.format(budgetedCents) +
+                ", spent=" + Money.format(getSpentThisMonthCents()) +
+                ", remaining=" + Money.format(getRemainingCents()) +
                 '}';
     }
-}
\ No newline at end of file
+}
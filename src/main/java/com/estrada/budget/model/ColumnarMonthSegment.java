@@ -0,0 +1,162 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Segment that keeps each field in its own primitive column instead of one object per row:
+ * epoch day, cents, category index, interned description id and a flag byte
+ * (income, recurring, recurrence type). Roughly 21 bytes per row versus a Transaction,
+ * its LocalDate and Strings, and totals are recomputed by scanning the arrays.
+ *
+ * get(i) materializes a detached Transaction; changing it does not write back.
+ * Removal therefore matches rows by value rather than identity.
+ */
+class ColumnarMonthSegment extends MonthSegment {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final byte INCOME = 1;
+    private static final byte RECURRING = 1 << 1;
+    private static final int RECURRENCE_SHIFT = 2; // recurrence ordinal + 1, 0 = none
+
+    private final StringTable descriptions;
+    private final ToIntFunction<String> categoryIds;
+    private final IntFunction<String> categoryNames;
+
+    private int size = 0;
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int[] descriptionIds = new int[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+
+    ColumnarMonthSegment(YearMonth month, StringTable descriptions,
+                         ToIntFunction<String> categoryIds, IntFunction<String> categoryNames) {
+        super(month);
+        this.descriptions = descriptions;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+    }
+
+    @Override
+    void add(Transaction t) {
+        if (size == epochDays.length) grow();
+        int at = insertionPoint(t.getDate().toEpochDay());
+        if (at < size) {
+            int tail = size - at;
+            System.arraycopy(epochDays, at, epochDays, at + 1, tail);
+            System.arraycopy(cents, at, cents, at + 1, tail);
+            System.arraycopy(categories, at, categories, at + 1, tail);
+            System.arraycopy(descriptionIds, at, descriptionIds, at + 1, tail);
+            System.arraycopy(flags, at, flags, at + 1, tail);
+        }
+        epochDays[at] = (int) t.getDate().toEpochDay();
+        cents[at] = t.getAmountCents();
+        categories[at] = categoryIds.applyAsInt(t.getCategory());
+        descriptionIds[at] = descriptions.intern(t.getDescription());
+        flags[at] = encodeFlags(t);
+        size++;
+    }
+
+    @Override
+    boolean remove(Transaction t) {
+        long day = t.getDate().toEpochDay();
+        int category = categoryIds.applyAsInt(t.getCategory());
+        int description = descriptions.find(t.getDescription());
+        if (description < 0 && t.getDescription() != null) return false;
+        byte flag = encodeFlags(t);
+        for (int i = lowerBound(day); i < size && epochDays[i] == day; i++) {
+            if (cents[i] == t.getAmountCents() && categories[i] == category
+                    && descriptionIds[i] == description && flags[i] == flag) {
+                int tail = size - i - 1;
+                System.arraycopy(epochDays, i + 1, epochDays, i, tail);
+                System.arraycopy(cents, i + 1, cents, i, tail);
+                System.arraycopy(categories, i + 1, categories, i, tail);
+                System.arraycopy(descriptionIds, i + 1, descriptionIds, i, tail);
+                System.arraycopy(flags, i + 1, flags, i, tail);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Transaction get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        byte flag = flags[index];
+        Transaction t = new Transaction(cents[index], LocalDate.ofEpochDay(epochDays[index]),
+                descriptions.get(descriptionIds[index]),
+                (flag & INCOME) != 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                categories[index] >= 0 ? categoryNames.apply(categories[index]) : null);
+        t.setRecurring((flag & RECURRING) != 0);
+        int recurrence = (flag >> RECURRENCE_SHIFT) & 0x7;
+        t.setRecurrenceType(recurrence > 0 ? Transaction.RecurrenceType.values()[recurrence - 1] : null);
+        return t;
+    }
+
+    @Override
+    long epochDayAt(int index) {
+        return epochDays[index];
+    }
+
+    @Override
+    int[] positionsMatching(String category, int categoryId, Transaction.TransactionType type) {
+        // Scans the category and flag columns only; no rows are materialized
+        boolean income = type == Transaction.TransactionType.INCOME;
+        int[] matches = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (category != null && categories[i] != categoryId) continue;
+            if (type != null && ((flags[i] & INCOME) != 0) != income) continue;
+            matches[count++] = i;
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    @Override
+    MonthTotals recomputeTotals(ToIntFunction<String> ignored) {
+        // Category indexes are already stored, so this is a straight scan of three columns
+        MonthTotals recomputed = new MonthTotals();
+        for (int i = 0; i < size; i++) {
+            recomputed.apply((flags[i] & INCOME) != 0, cents[i], categories[i], 1);
+        }
+        return recomputed;
+    }
+
+    private static byte encodeFlags(Transaction t) {
+        int flag = 0;
+        if (t.getType() == Transaction.TransactionType.INCOME) flag |= INCOME;
+        if (t.isRecurring()) flag |= RECURRING;
+        if (t.getRecurrenceType() != null) flag |= (t.getRecurrenceType().ordinal() + 1) << RECURRENCE_SHIFT;
+        return (byte) flag;
+    }
+
+    /** Drops spare capacity once the month is closed and rarely changes. */
+    void trimToSize() {
+        if (epochDays.length == size) return;
+        epochDays = Arrays.copyOf(epochDays, size);
+        cents = Arrays.copyOf(cents, size);
+        categories = Arrays.copyOf(categories, size);
+        descriptionIds = Arrays.copyOf(descriptionIds, size);
+        flags = Arrays.copyOf(flags, size);
+    }
+
+    private void grow() {
+        int capacity = Math.max(INITIAL_CAPACITY, epochDays.length + (epochDays.length >> 1));
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
@@ -0,0 +1,55 @@
+package com.estrada.budget.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for the fixed-point money representation used across the model:
+ * every amount is a long number of cents, so sums are exact and stay primitive.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Converts a legacy double dollar amount (old budget.json files) to cents, rounding half-up.
+     */
+    public static long toCents(double dollars) {
+        return BigDecimal.valueOf(dollars).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Parses user input such as "1,234.5" or "$12" into cents.
+     *
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static long parse(String text) {
+        if (text == null) throw new NumberFormatException("null amount");
+        String cleaned = text.trim().replace(",", "").replace("$", "");
+        try {
+            return new BigDecimal(cleaned).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Formats cents as a plain two-decimal amount ("-1234.56"), like String.format("%.2f") on dollars.
+     */
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(16);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        sb.append(abs / 100).append('.');
+        if (fraction < 10) sb.append('0');
+        return sb.append(fraction).toString();
+    }
+}
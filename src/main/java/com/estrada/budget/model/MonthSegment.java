@@ -0,0 +1,109 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * All transactions dated in one YearMonth, kept sorted by date, together with
+ * the month's running totals. Subclasses decide how the rows are held in memory.
+ */
+abstract class MonthSegment {
+
+    final YearMonth month;
+    final MonthTotals totals = new MonthTotals();
+
+    MonthSegment(YearMonth month) {
+        this.month = month;
+    }
+
+    abstract void add(Transaction t);
+
+    abstract boolean remove(Transaction t);
+
+    abstract int size();
+
+    abstract Transaction get(int index);
+
+    abstract long epochDayAt(int index);
+
+    /**
+     * Recomputes this month's totals from the stored rows (used by Budget.verifyTotals).
+     */
+    abstract MonthTotals recomputeTotals(ToIntFunction<String> categoryIds);
+
+    List<Transaction> view() {
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                return MonthSegment.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return MonthSegment.this.size();
+            }
+        };
+    }
+
+    /**
+     * Visits transactions dated within [from, to]; null bounds mean open-ended.
+     */
+    void forEachBetween(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        int start = from == null ? 0 : lowerBound(from.toEpochDay());
+        long last = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        int n = size();
+        for (int i = start; i < n && epochDayAt(i) <= last; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    /**
+     * Positions of the rows in the given category and/or of the given type (null = any), in
+     * date order. Object segments compare the category name, columnar ones its index.
+     */
+    int[] positionsMatching(String category, int categoryId, Transaction.TransactionType type) {
+        int n = size();
+        int[] matches = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Transaction t = get(i);
+            if ((category == null || category.equals(t.getCategory())) && (type == null || t.getType() == type)) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // First index whose date is >= epochDay
+    int lowerBound(long epochDay) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDayAt(mid) < epochDay) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index whose date is > epochDay
+    int upperBound(long epochDay) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDayAt(mid) > epochDay) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /** Insert position that keeps rows in date order; appending is the common case. */
+    int insertionPoint(long epochDay) {
+        int n = size();
+        return n == 0 || epochDayAt(n - 1) <= epochDay ? n : upperBound(epochDay);
+    }
+}
@@ -0,0 +1,74 @@
+package com.estrada.budget.model;
+
+import java.util.Arrays;
+
+/**
+ * Running income/expense aggregate (in cents) for one YearMonth, maintained by Budget as
+ * transactions are added, edited or removed. Per-category expense and income are primitive
+ * arrays indexed by Budget's category index.
+ */
+class MonthTotals {
+
+    long income = 0;
+    long expense = 0;
+    int count = 0;
+    long[] spent = new long[0];    // expenses
+    long[] received = new long[0]; // income
+
+    void apply(Transaction t, int categoryIndex, int sign) {
+        apply(t.getType() == Transaction.TransactionType.INCOME, t.getAmountCents(), categoryIndex, sign);
+    }
+
+    void apply(boolean income, long cents, int categoryIndex, int sign) {
+        if (income) {
+            this.income += sign * cents;
+            if (categoryIndex >= 0) {
+                if (categoryIndex >= received.length) received = grow(received, categoryIndex);
+                received[categoryIndex] += sign * cents;
+            }
+        } else {
+            expense += sign * cents;
+            if (categoryIndex >= 0) {
+                if (categoryIndex >= spent.length) spent = grow(spent, categoryIndex);
+                spent[categoryIndex] += sign * cents;
+            }
+        }
+        count += sign;
+    }
+
+    void copyFrom(MonthTotals other) {
+        income = other.income;
+        expense = other.expense;
+        count = other.count;
+        spent = other.spent.clone();
+        received = other.received.clone();
+    }
+
+    long spent(int categoryIndex) {
+        return categoryIndex < spent.length ? spent[categoryIndex] : 0;
+    }
+
+    long received(int categoryIndex) {
+        return categoryIndex < received.length ? received[categoryIndex] : 0;
+    }
+
+    boolean matches(MonthTotals other) {
+        // Cents are exact, so totals must match to the cent whatever the summation order
+        if (count != other.count || income != other.income || expense != other.expense) {
+            return false;
+        }
+        int n = Math.max(spent.length, other.spent.length);
+        for (int i = 0; i < n; i++) {
+            if (spent(i) != other.spent(i)) return false;
+        }
+        n = Math.max(received.length, other.received.length);
+        for (int i = 0; i < n; i++) {
+            if (received(i) != other.received(i)) return false;
+        }
+        return true;
+    }
+
+    private static long[] grow(long[] amounts, int categoryIndex) {
+        return Arrays.copyOf(amounts, Math.max(categoryIndex + 1, amounts.length * 2));
+    }
+}
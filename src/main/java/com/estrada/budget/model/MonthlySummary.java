@@ -0,0 +1,76 @@
+package com.estrada.budget.model;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable income/expense summary for one month, in cents.
+ * Per-category spend is a primitive array parallel to categoryNames (Budget's category index order),
+ * so building and reading a summary involves no boxing or hashing.
+ */
+public record MonthlySummary(YearMonth month,
+                             long incomeCents,
+                             long expenseCents,
+                             List<String> categoryNames,
+                             long[] categorySpentCents) {
+
+    public static final long SAFE_BUFFER_CENTS = 1000_00;
+
+    public MonthlySummary {
+        categorySpentCents = categorySpentCents.clone();
+    }
+
+    public long balanceCents() {
+        return incomeCents - expenseCents;
+    }
+
+    public int categoryCount() {
+        return categoryNames.size();
+    }
+
+    /** Spend for the category at the given index; no copy, no lookup. */
+    public long spentAt(int index) {
+        return index < categorySpentCents.length ? categorySpentCents[index] : 0;
+    }
+
+    public long spent(String category) {
+        int index = categoryNames.indexOf(category);
+        return index >= 0 ? spentAt(index) : 0;
+    }
+
+    @Override
+    public long[] categorySpentCents() {
+        return categorySpentCents.clone();
+    }
+
+    public boolean isBelowSafeBuffer() {
+        return balanceCents() < SAFE_BUFFER_CENTS;
+    }
+
+    public String safetyWarning() {
+        return isBelowSafeBuffer() ?
+                "⚠️ WARNING: Projected balance may drop below safe buffer ($1,000)!" :
+                "✅ Safe buffer maintained";
+    }
+
+    /**
+     * Compatibility adapter for callers still using the old Map<String, Object> shape (dollar doubles).
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Double> spentByName = new HashMap<>();
+        for (int i = 0; i < categoryNames.size(); i++) {
+            spentByName.put(categoryNames.get(i), Money.toDollars(spentAt(i)));
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("month", month.toString());
+        summary.put("income", Money.toDollars(incomeCents));
+        summary.put("expense", Money.toDollars(expenseCents));
+        summary.put("balance", Money.toDollars(balanceCents()));
+        summary.put("categorySpent", spentByName);
+        summary.put("safetyWarning", safetyWarning());
+        return summary;
+    }
+}
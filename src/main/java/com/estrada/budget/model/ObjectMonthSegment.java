@@ -0,0 +1,59 @@
+package com.estrada.budget.model;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Default segment: one Transaction object per row.
+ */
+class ObjectMonthSegment extends MonthSegment {
+
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    ObjectMonthSegment(YearMonth month) {
+        super(month);
+    }
+
+    @Override
+    void add(Transaction t) {
+        transactions.add(insertionPoint(t.getDate().toEpochDay()), t);
+    }
+
+    @Override
+    boolean remove(Transaction t) {
+        long day = t.getDate().toEpochDay();
+        for (int i = lowerBound(day); i < transactions.size() && epochDayAt(i) == day; i++) {
+            if (transactions.get(i) == t) {
+                transactions.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    int size() {
+        return transactions.size();
+    }
+
+    @Override
+    Transaction get(int index) {
+        return transactions.get(index);
+    }
+
+    @Override
+    long epochDayAt(int index) {
+        return transactions.get(index).getDate().toEpochDay();
+    }
+
+    @Override
+    MonthTotals recomputeTotals(ToIntFunction<String> categoryIds) {
+        MonthTotals recomputed = new MonthTotals();
+        for (Transaction t : transactions) {
+            recomputed.apply(t, categoryIds.applyAsInt(t.getCategory()), 1);
+        }
+        return recomputed;
+    }
+}
@@ -0,0 +1,52 @@
+package com.estrada.budget.model;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Immutable income/expense totals over the months [from, to] inclusive, in cents.
+ * Per-category spend is parallel to categoryNames, as in MonthlySummary.
+ */
+public record PeriodSummary(YearMonth from,
+                            YearMonth to,
+                            long incomeCents,
+                            long expenseCents,
+                            List<String> categoryNames,
+                            long[] categorySpentCents) {
+
+    public PeriodSummary {
+        categorySpentCents = categorySpentCents.clone();
+    }
+
+    /** Calendar months in the period, including months without transactions. */
+    public int months() {
+        return (int) ChronoUnit.MONTHS.between(from, to) + 1;
+    }
+
+    public long balanceCents() {
+        return incomeCents - expenseCents;
+    }
+
+    public long averageMonthlyIncomeCents() {
+        return incomeCents / months();
+    }
+
+    public long averageMonthlyExpenseCents() {
+        return expenseCents / months();
+    }
+
+    public long spentAt(int index) {
+        return index < categorySpentCents.length ? categorySpentCents[index] : 0;
+    }
+
+    public long spent(String category) {
+        int index = categoryNames.indexOf(category);
+        return index >= 0 ? spentAt(index) : 0;
+    }
+
+    @Override
+    public long[] categorySpentCents() {
+        return categorySpentCents.clone();
+    }
+}
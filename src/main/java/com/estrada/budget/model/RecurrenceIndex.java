@@ -0,0 +1,119 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Recurring items ordered by their next due date.
+ *
+ * A min-heap keyed on each rule's next occurrence (on or after the cursor date) means a
+ * "what's due between from and to" query only touches the rules actually due in the window:
+ * O(k log n + occurrences) for k due rules out of n. Moving the cursor forward re-keys just
+ * the rules that fell behind it.
+ *
+ * Not thread-safe (even queries move the cursor); Budget guards its indexes with its index lock.
+ */
+public class RecurrenceIndex<T> {
+
+    private final PriorityQueue<Entry<T>> queue = new PriorityQueue<>(Comparator.comparing(e -> e.nextDue));
+    private final List<Entry<T>> ended = new ArrayList<>(); // no occurrence on or after the cursor
+    private LocalDate cursor = LocalDate.now();
+
+    public void add(T item, RecurrenceRule rule) {
+        Entry<T> entry = new Entry<>(item, rule);
+        entry.nextDue = rule.nextOnOrAfter(cursor);
+        if (entry.nextDue != null) queue.add(entry);
+        else ended.add(entry);
+    }
+
+    /**
+     * Removes the item (matched by identity). Linear in the number of rules.
+     */
+    public boolean remove(T item) {
+        boolean removed = queue.removeIf(e -> e.item == item);
+        return ended.removeIf(e -> e.item == item) || removed;
+    }
+
+    public int size() {
+        return queue.size() + ended.size();
+    }
+
+    /**
+     * Next due occurrence on or after the date, or null if nothing is scheduled.
+     */
+    public Due<T> next(LocalDate from) {
+        moveCursor(from);
+        Entry<T> head = queue.peek();
+        return head != null ? new Due<>(head.item, head.nextDue) : null;
+    }
+
+    /**
+     * Every occurrence within [from, to] inclusive, in date order.
+     */
+    public List<Due<T>> dueBetween(LocalDate from, LocalDate to) {
+        moveCursor(from);
+
+        List<Entry<T>> hits = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().nextDue.isAfter(to)) {
+            hits.add(queue.poll());
+        }
+
+        List<Due<T>> due = new ArrayList<>();
+        for (Entry<T> entry : hits) {
+            for (Iterator<LocalDate> it = entry.rule.iterator(entry.nextDue, to); it.hasNext(); ) {
+                due.add(new Due<>(entry.item, it.next()));
+            }
+        }
+        queue.addAll(hits); // nextDue is unchanged, so the heap is as it was
+        due.sort(Comparator.comparing(Due::date));
+        return due;
+    }
+
+    private void moveCursor(LocalDate date) {
+        if (date.equals(cursor)) return;
+
+        if (date.isBefore(cursor)) {
+            // Looking back: every rule may have an earlier occurrence, so re-key them all
+            List<Entry<T>> all = new ArrayList<>(queue);
+            all.addAll(ended);
+            queue.clear();
+            ended.clear();
+            cursor = date;
+            for (Entry<T> entry : all) {
+                entry.nextDue = entry.rule.nextOnOrAfter(date);
+                if (entry.nextDue != null) queue.add(entry);
+                else ended.add(entry);
+            }
+            return;
+        }
+
+        cursor = date;
+        List<Entry<T>> behind = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().nextDue.isBefore(date)) {
+            behind.add(queue.poll());
+        }
+        for (Entry<T> entry : behind) {
+            entry.nextDue = entry.rule.nextOnOrAfter(date);
+            if (entry.nextDue != null) queue.add(entry);
+            else ended.add(entry);
+        }
+    }
+
+    public record Due<T>(T item, LocalDate date) {
+    }
+
+    private static class Entry<T> {
+        final T item;
+        final RecurrenceRule rule;
+        LocalDate nextDue;
+
+        Entry(T item, RecurrenceRule rule) {
+            this.item = item;
+            this.rule = rule;
+        }
+    }
+}
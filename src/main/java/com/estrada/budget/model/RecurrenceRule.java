@@ -0,0 +1,96 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A repeating date: every occurrence of {@code type} counted from {@code anchor}, starting at
+ * occurrence {@code firstIndex} and ending on or before {@code until} (null = open-ended).
+ *
+ * Occurrences are computed on demand, so any window can be walked without materializing
+ * the series, and the first occurrence in a window is found by jumping, not scanning.
+ */
+public record RecurrenceRule(LocalDate anchor, Transaction.RecurrenceType type, long firstIndex, LocalDate until) {
+
+    public RecurrenceRule {
+        if (anchor == null || type == null) {
+            throw new IllegalArgumentException("A recurrence needs an anchor date and a type");
+        }
+        if (firstIndex < 0) {
+            throw new IllegalArgumentException("firstIndex must not be negative");
+        }
+    }
+
+    /** Every occurrence from the anchor date on, the anchor included. */
+    public static RecurrenceRule startingOn(LocalDate anchor, Transaction.RecurrenceType type) {
+        return new RecurrenceRule(anchor, type, 0, null);
+    }
+
+    /** A single occurrence on the date (one-time bills share the recurring code paths). */
+    public static RecurrenceRule once(LocalDate date) {
+        return new RecurrenceRule(date, Transaction.RecurrenceType.YEARLY, 0, date);
+    }
+
+    /** Occurrences after an already-recorded one (e.g. the next bills after a recurring transaction). */
+    public static RecurrenceRule following(LocalDate recorded, Transaction.RecurrenceType type) {
+        return new RecurrenceRule(recorded, type, 1, null);
+    }
+
+    /**
+     * Index of the first occurrence on or after the date, or -1 if the rule has ended by then.
+     */
+    public long indexOnOrAfter(LocalDate date) {
+        long index = Math.max(firstIndex, type.indexBefore(anchor, date));
+        LocalDate occurrence = type.occurrence(anchor, index);
+        while (occurrence.isBefore(date)) {
+            occurrence = type.occurrence(anchor, ++index);
+        }
+        return until != null && occurrence.isAfter(until) ? -1 : index;
+    }
+
+    /**
+     * First occurrence on or after the date, or null if the rule has ended by then.
+     */
+    public LocalDate nextOnOrAfter(LocalDate date) {
+        long index = indexOnOrAfter(date);
+        return index < 0 ? null : type.occurrence(anchor, index);
+    }
+
+    /**
+     * Occurrences within [from, to] inclusive, in order, generated lazily.
+     */
+    public Iterator<LocalDate> iterator(LocalDate from, LocalDate to) {
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        long start = indexOnOrAfter(from);
+        return new Iterator<>() {
+            private long index = start;
+            private LocalDate next = start < 0 ? null : type.occurrence(anchor, start);
+
+            @Override
+            public boolean hasNext() {
+                return next != null && !next.isAfter(last);
+            }
+
+            @Override
+            public LocalDate next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                LocalDate current = next;
+                next = type.occurrence(anchor, ++index);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Stream form of {@link #iterator}; to stays inclusive.
+     */
+    public Stream<LocalDate> occurrences(LocalDate from, LocalDate to) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(from, to),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT | Spliterator.IMMUTABLE), false);
+    }
+}
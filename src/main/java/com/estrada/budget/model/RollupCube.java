@@ -0,0 +1,200 @@
+package com.estrada.budget.model;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Category × month × type amounts (in cents) over a range of months, for charts and reports.
+ *
+ * Built by Budget.rollup from the per-month running totals, which are kept up to date as
+ * transactions are added or removed, so building a cube and every query on it cost
+ * O(months × categories) however many transactions the range holds. A cube is an immutable
+ * snapshot and can be handed to another thread.
+ */
+public final class RollupCube {
+
+    private static final int TYPES = Transaction.TransactionType.values().length;
+
+    private final YearMonth from;
+    private final int months;
+    private final List<String> categoryNames;
+    private final long[] budgeted;  // per category, monthly
+    private final long[] cells;     // [month][type][category]
+    private final long[] totals;    // [month][type], uncategorized transactions included
+
+    RollupCube(YearMonth from, YearMonth to, List<String> categoryNames, long[] budgeted) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Rollup range ends before it starts: " + from + " to " + to);
+        }
+        this.from = from;
+        this.months = (int) ChronoUnit.MONTHS.between(from, to) + 1;
+        this.categoryNames = categoryNames;
+        this.budgeted = budgeted;
+        this.cells = new long[months * TYPES * categoryNames.size()];
+        this.totals = new long[months * TYPES];
+    }
+
+    void add(YearMonth month, MonthTotals monthTotals) {
+        int m = offsetOf(month);
+        if (m < 0) return;
+        int n = categoryNames.size();
+        int income = (m * TYPES + Transaction.TransactionType.INCOME.ordinal()) * n;
+        int expense = (m * TYPES + Transaction.TransactionType.EXPENSE.ordinal()) * n;
+        for (int c = 0; c < n; c++) {
+            cells[income + c] = monthTotals.received(c);
+            cells[expense + c] = monthTotals.spent(c);
+        }
+        totals[m * TYPES + Transaction.TransactionType.INCOME.ordinal()] = monthTotals.income;
+        totals[m * TYPES + Transaction.TransactionType.EXPENSE.ordinal()] = monthTotals.expense;
+    }
+
+    public YearMonth from() {
+        return from;
+    }
+
+    public YearMonth to() {
+        return from.plusMonths(months - 1);
+    }
+
+    /** Calendar months covered, including months without transactions. */
+    public int months() {
+        return months;
+    }
+
+    public List<String> categoryNames() {
+        return categoryNames;
+    }
+
+    public long amount(String category, YearMonth month, Transaction.TransactionType type) {
+        int c = categoryNames.indexOf(category);
+        int m = offsetOf(month);
+        return c < 0 || m < 0 ? 0 : cells[cell(m, type, c)];
+    }
+
+    /** All income or all expenses in the month, uncategorized ones included. */
+    public long total(YearMonth month, Transaction.TransactionType type) {
+        int m = offsetOf(month);
+        return m < 0 ? 0 : totals[m * TYPES + type.ordinal()];
+    }
+
+    /** The category's amount in each month of the range, oldest first. */
+    public long[] trend(String category, Transaction.TransactionType type) {
+        long[] trend = new long[months];
+        int c = categoryNames.indexOf(category);
+        if (c < 0) return trend;
+        for (int m = 0; m < months; m++) {
+            trend[m] = cells[cell(m, type, c)];
+        }
+        return trend;
+    }
+
+    /** Total income or expenses in each month of the range, oldest first. */
+    public long[] totalTrend(Transaction.TransactionType type) {
+        long[] trend = new long[months];
+        for (int m = 0; m < months; m++) {
+            trend[m] = totals[m * TYPES + type.ordinal()];
+        }
+        return trend;
+    }
+
+    /** The category's amount over the whole range. */
+    public long categoryTotal(String category, Transaction.TransactionType type) {
+        int c = categoryNames.indexOf(category);
+        return c < 0 ? 0 : sum(type, c);
+    }
+
+    public long total(Transaction.TransactionType type) {
+        long sum = 0;
+        for (int m = 0; m < months; m++) {
+            sum += totals[m * TYPES + type.ordinal()];
+        }
+        return sum;
+    }
+
+    /**
+     * Each category's part of all expenses over the range, largest first; categories with
+     * no spending are left out.
+     */
+    public List<Share> shareOfSpend() {
+        long all = total(Transaction.TransactionType.EXPENSE);
+        List<Share> shares = new ArrayList<>();
+        for (int c = 0; c < categoryNames.size(); c++) {
+            long spent = sum(Transaction.TransactionType.EXPENSE, c);
+            if (spent > 0) shares.add(new Share(categoryNames.get(c), spent, (double) spent / all));
+        }
+        shares.sort(Comparator.comparingLong(Share::cents).reversed());
+        return shares;
+    }
+
+    /**
+     * Budgeted vs. actual per category over the whole range (the monthly budget times the
+     * number of months), for categories with a budget or any activity.
+     */
+    public List<Variance> varianceVsBudget() {
+        List<Variance> variances = new ArrayList<>();
+        for (int c = 0; c < categoryNames.size(); c++) {
+            long actual = sum(Transaction.TransactionType.EXPENSE, c) + sum(Transaction.TransactionType.INCOME, c);
+            long budget = budgetedAt(c) * months;
+            if (budget != 0 || actual != 0) variances.add(new Variance(categoryNames.get(c), budget, actual));
+        }
+        return variances;
+    }
+
+    /**
+     * Budgeted vs. actual per category for a single month of the range.
+     */
+    public List<Variance> varianceVsBudget(YearMonth month) {
+        int m = offsetOf(month);
+        List<Variance> variances = new ArrayList<>();
+        for (int c = 0; c < categoryNames.size(); c++) {
+            long actual = m < 0 ? 0 : cells[cell(m, Transaction.TransactionType.EXPENSE, c)]
+                    + cells[cell(m, Transaction.TransactionType.INCOME, c)];
+            if (budgetedAt(c) != 0 || actual != 0) variances.add(new Variance(categoryNames.get(c), budgetedAt(c), actual));
+        }
+        return variances;
+    }
+
+    private long sum(Transaction.TransactionType type, int c) {
+        long sum = 0;
+        for (int m = 0; m < months; m++) {
+            sum += cells[cell(m, type, c)];
+        }
+        return sum;
+    }
+
+    private long budgetedAt(int c) {
+        return c < budgeted.length ? budgeted[c] : 0;
+    }
+
+    private int cell(int m, Transaction.TransactionType type, int c) {
+        return (m * TYPES + type.ordinal()) * categoryNames.size() + c;
+    }
+
+    // Index of the month within the range, or -1 outside it
+    private int offsetOf(YearMonth month) {
+        long offset = ChronoUnit.MONTHS.between(from, month);
+        return offset >= 0 && offset < months ? (int) offset : -1;
+    }
+
+    public record Share(String category, long cents, double share) {
+    }
+
+    /**
+     * Actual is everything recorded against the category: expenses for spending categories,
+     * deposits for income ones. A positive variance means more than budgeted.
+     */
+    public record Variance(String category, long budgetedCents, long actualCents) {
+
+        public long varianceCents() {
+            return actualCents - budgetedCents;
+        }
+
+        /** Actual as a fraction of budget (1.0 = exactly on budget), or NaN with no budget. */
+        public double usedRatio() {
+            return budgetedCents == 0 ? Double.NaN : (double) actualCents / budgetedCents;
+        }
+    }
+}
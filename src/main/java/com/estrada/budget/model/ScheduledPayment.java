@@ -0,0 +1,108 @@
+package com.estrada.budget.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+
+/**
+ * A bill or deposit in the Upcoming Payments/Deposits pop-up.
+ *
+ * One-time items have no recurrence and are due once on dueDate; recurring items repeat from
+ * dueDate. paidThrough marks every occurrence on or before it as paid (null = nothing paid yet).
+ * Withheld items (e.g. deductions DFAS takes out before the net pay deposit) are listed for
+ * reference but never leave the checking account, so cash-flow projections skip them.
+ * Change these through Budget so its due-date index stays current.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ScheduledPayment {
+    private String payee;
+    private long amountCents;
+    private Transaction.TransactionType type = Transaction.TransactionType.EXPENSE;
+    private LocalDate dueDate;
+    private Transaction.RecurrenceType recurrence; // null = one-time
+    private String note;
+    private LocalDate paidThrough;
+    private boolean withheld;
+
+    public ScheduledPayment() {
+        // Default for Jackson
+    }
+
+    public ScheduledPayment(String payee, long amountCents, Transaction.TransactionType type, LocalDate dueDate,
+                            Transaction.RecurrenceType recurrence) {
+        this.payee = payee;
+        this.amountCents = amountCents;
+        this.type = type;
+        this.dueDate = dueDate;
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Remaining unpaid occurrences, or null if there are none: fully paid, or no due date at all
+     * (older snapshots and hand-edited JSON can hold undated items; they are listed, never due).
+     */
+    public RecurrenceRule rule() {
+        if (dueDate == null) return null;
+        RecurrenceRule all = recurrence == null ? RecurrenceRule.once(dueDate) : RecurrenceRule.startingOn(dueDate, recurrence);
+        if (paidThrough == null) return all;
+        long firstUnpaid = all.indexOnOrAfter(paidThrough.plusDays(1));
+        return firstUnpaid < 0 ? null : new RecurrenceRule(dueDate, all.type(), firstUnpaid, all.until());
+    }
+
+    /**
+     * When this is next due as of the given day: an unpaid one-time item's due date (which may
+     * already have passed), or a recurring item's first unpaid occurrence on or after the day.
+     * Null once a one-time item is paid.
+     */
+    public LocalDate nextDue(LocalDate asOf) {
+        RecurrenceRule rule = rule();
+        if (rule == null) return null;
+        return recurrence == null ? dueDate : rule.nextOnOrAfter(asOf);
+    }
+
+    @JsonIgnore
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /** Only one-time items are ever fully paid; an undated item never is. */
+    @JsonIgnore
+    public boolean isPaid() {
+        return dueDate != null && rule() == null;
+    }
+
+    @JsonIgnore
+    public boolean isIncome() {
+        return type == Transaction.TransactionType.INCOME;
+    }
+
+    public String getPayee() { return payee; }
+    public void setPayee(String payee) { this.payee = payee; }
+
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
+
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public Transaction.RecurrenceType getRecurrence() { return recurrence; }
+    public void setRecurrence(Transaction.RecurrenceType recurrence) { this.recurrence = recurrence; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public LocalDate getPaidThrough() { return paidThrough; }
+    public void setPaidThrough(LocalDate paidThrough) { this.paidThrough = paidThrough; }
+
+    public boolean isWithheld() { return withheld; }
+    public void setWithheld(boolean withheld) { this.withheld = withheld; }
+
+    @Override
+    public String toString() {
+        return payee + " $" + Money.format(amountCents) + (isIncome() ? " (Income)" : "");
+    }
+}
@@ -0,0 +1,43 @@
+package com.estrada.budget.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns strings to dense int ids, so repeated descriptions ("HEB", "T-MOBILE")
+ * are stored once and rows only carry an int.
+ */
+class StringTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /** Id for the value, assigning one on first sight; -1 for null. */
+    int intern(String value) {
+        if (value == null) return -1;
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /** Id for the value if already interned, otherwise -1. */
+    int find(String value) {
+        if (value == null) return -1;
+        Integer id = ids.get(value);
+        return id != null ? id : -1;
+    }
+
+    String get(int id) {
+        return id >= 0 ? values.get(id) : null;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -1,10 +1,13 @@
 package com.estrada.budget.model;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Transaction {
-    private double amount;
+    private long amountCents;
     private LocalDate date;
     private String description;
     private TransactionType type;
@@ -12,20 +15,30 @@ public class Transaction {
     private boolean recurring = false;
     private RecurrenceType recurrenceType = RecurrenceType.MONTHLY;
 
-    public Transaction(double amount, LocalDate date, String description, TransactionType type, String category) {
-        this.amount = amount;
+    public Transaction() {
+        // Default for Jackson (journal replay and snapshot load)
+    }
+
+    public Transaction(long amountCents, LocalDate date, String description, TransactionType type, String category) {
+        this.amountCents = amountCents;
         this.date = date;
         this.description = description;
         this.type = type;
         this.category = category;
     }
 
-    public double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    // Migration from budget.json/journal records written with a double "amount"
+    @JsonSetter("amount")
+    private void setLegacyAmount(double dollars) {
+        this.amountCents = Money.toCents(dollars);
     }
 
     public LocalDate getDate() {
@@ -80,7 +93,36 @@ public class Transaction {
         INCOME, EXPENSE
     }
 
+    // New constants go at the end: snapshots store the ordinal
     public enum RecurrenceType {
-        WEEKLY, MONTHLY, QUARTERLY, YEARLY
+        WEEKLY(ChronoUnit.WEEKS, 1),
+        MONTHLY(ChronoUnit.MONTHS, 1),
+        QUARTERLY(ChronoUnit.MONTHS, 3),
+        YEARLY(ChronoUnit.YEARS, 1),
+        BIWEEKLY(ChronoUnit.WEEKS, 2);
+
+        private final ChronoUnit unit;
+        private final int step;
+
+        RecurrenceType(ChronoUnit unit, int step) {
+            this.unit = unit;
+            this.step = step;
+        }
+
+        /**
+         * The index-th occurrence counted from the anchor (index 0 is the anchor itself).
+         * Always computed from the anchor, so a rule anchored on the 31st returns to the 31st
+         * after a short month instead of drifting.
+         */
+        public LocalDate occurrence(LocalDate anchor, long index) {
+            return anchor.plus(index * step, unit);
+        }
+
+        /**
+         * Lower bound on the index of the first occurrence on or after the date.
+         */
+        long indexBefore(LocalDate anchor, LocalDate date) {
+            return Math.max(0, unit.between(anchor, date) / step - 1);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.estrada.budget.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Read-only, date-ordered window onto the transaction history for the ledger table, built by
+ * {@link Budget#ledger}. Nothing is copied up front: the ledger keeps references to the month
+ * partitions plus, when filtered, the matching row positions of each month (one int per
+ * match), and only the rows asked for through {@link #rows(int, int)} are materialized.
+ *
+ * A ledger describes the history as it was when built. After the budget changes,
+ * {@link #isStale()} turns true and rows may be missing or shifted until a new one is built.
+ */
+public final class TransactionLedger {
+
+    private final Budget budget;
+    private final long revision;
+    private final boolean newestFirst;
+    private final MonthSegment[] segments;  // in display order
+    private final int[][] positions;        // matching rows per month, null = every row
+    private final int[] counts;
+    private final int[] starts;             // ledger row of each month's first entry
+    private final int size;
+
+    TransactionLedger(Budget budget, long revision, boolean newestFirst,
+                      List<MonthSegment> segments, List<int[]> positions) {
+        this.budget = budget;
+        this.revision = revision;
+        this.newestFirst = newestFirst;
+        this.segments = segments.toArray(new MonthSegment[0]);
+        this.positions = positions.toArray(new int[0][]);
+        this.counts = new int[this.segments.length];
+        this.starts = new int[this.segments.length];
+        int total = 0;
+        for (int m = 0; m < this.segments.length; m++) {
+            starts[m] = total;
+            counts[m] = this.positions[m] != null ? this.positions[m].length : this.segments[m].size();
+            total += counts[m];
+        }
+        this.size = total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNewestFirst() {
+        return newestFirst;
+    }
+
+    /** True once the budget's transactions have changed since this ledger was built. */
+    public boolean isStale() {
+        return budget.getRevision() != revision;
+    }
+
+    /**
+     * Materializes ledger rows [from, to) under the budget's read lock. Cost is proportional to
+     * the rows returned plus a binary search for the first month, whatever the history size.
+     */
+    public List<Transaction> rows(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(size, to);
+        if (from >= to) return List.of();
+
+        List<Transaction> rows = new ArrayList<>(to - from);
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            int row = from;
+            for (int m = monthOf(from); m < segments.length && row < to; m++) {
+                MonthSegment segment = segments[m];
+                int count = counts[m];
+                int live = segment.size();
+                for (int k = row - starts[m]; k < count && row < to; k++, row++) {
+                    int ordinal = newestFirst ? count - 1 - k : k;
+                    int position = positions[m] != null ? positions[m][ordinal] : ordinal;
+                    // A stale ledger can point past the end of a month that has since shrunk
+                    if (position < live) rows.add(segment.get(position));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return rows;
+    }
+
+    // Month holding the given ledger row (starts are strictly increasing: empty months are left out)
+    private int monthOf(int row) {
+        int found = Arrays.binarySearch(starts, row);
+        return found >= 0 ? found : -found - 2;
+    }
+}
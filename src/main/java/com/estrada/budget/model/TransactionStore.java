@@ -0,0 +1,196 @@
+package com.estrada.budget.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Transactions partitioned by YearMonth. Month views and date-range queries only
+ * touch the partitions they cover, so their cost follows the size of the range,
+ * not the size of the whole history.
+ *
+ * Partitions are either one object per transaction or, for large histories,
+ * primitive columns (see ColumnarMonthSegment); both expose the same Transaction views.
+ * Closed months (before the archive boundary) are always held as trimmed columns.
+ */
+class TransactionStore {
+
+    private final NavigableMap<YearMonth, MonthSegment> segments = new TreeMap<>();
+    private final boolean columnar;
+    private final ToIntFunction<String> categoryIds;
+    private final IntFunction<String> categoryNames;
+    private final StringTable descriptions = new StringTable();
+    private int size = 0;
+    private YearMonth archiveBefore; // months before this are closed (null = none)
+
+    TransactionStore(boolean columnar, ToIntFunction<String> categoryIds, IntFunction<String> categoryNames) {
+        this.columnar = columnar;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+    }
+
+    boolean isColumnar() {
+        return columnar;
+    }
+
+    /** Adds the transaction and returns the segment it landed in. */
+    MonthSegment add(Transaction t) {
+        MonthSegment segment = segments.computeIfAbsent(monthOf(t), this::newSegment);
+        segment.add(t);
+        size++;
+        return segment;
+    }
+
+    /**
+     * Removes the transaction and returns its former segment, or null if it was not stored.
+     * A month left empty is dropped, so months() only lists months that hold transactions.
+     */
+    MonthSegment remove(Transaction t) {
+        YearMonth month = monthOf(t);
+        MonthSegment segment = segments.get(month);
+        if (segment == null || !segment.remove(t)) {
+            return null;
+        }
+        size--;
+        if (segment.size() == 0) {
+            segments.remove(month);
+        }
+        return segment;
+    }
+
+    /**
+     * Closes every month before the given one: object partitions are converted to columnar
+     * ones (keeping their totals) and spare capacity is dropped. Closed months created later,
+     * e.g. by a back-dated import, start out columnar.
+     */
+    void archiveBefore(YearMonth month) {
+        archiveBefore = month;
+        for (Map.Entry<YearMonth, MonthSegment> entry : segments.headMap(month, false).entrySet()) {
+            if (entry.getValue() instanceof ColumnarMonthSegment closed) {
+                closed.trimToSize();
+            } else {
+                entry.setValue(compact(entry.getValue()));
+            }
+        }
+    }
+
+    private ColumnarMonthSegment compact(MonthSegment segment) {
+        ColumnarMonthSegment closed = newColumnarSegment(segment.month);
+        for (int i = 0; i < segment.size(); i++) {
+            closed.add(segment.get(i)); // already in date order, so every add appends
+        }
+        closed.trimToSize();
+        closed.totals.copyFrom(segment.totals);
+        return closed;
+    }
+
+    void clear() {
+        segments.clear();
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    MonthSegment segment(YearMonth month) {
+        return segments.get(month);
+    }
+
+    NavigableSet<YearMonth> months() {
+        return Collections.unmodifiableNavigableSet(segments.navigableKeySet());
+    }
+
+    Iterable<MonthSegment> segments() {
+        return segments.values();
+    }
+
+    /** Partitions of the months in [from, to] inclusive, oldest first. */
+    Iterable<MonthSegment> segmentsBetween(YearMonth from, YearMonth to) {
+        return segments.subMap(from, true, to, true).values();
+    }
+
+    /**
+     * Visits, in date order, every transaction dated within [from, to]; null bounds mean open-ended.
+     */
+    void forEachBetween(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        NavigableMap<YearMonth, MonthSegment> range = segments;
+        if (from != null) range = range.tailMap(YearMonth.from(from), true);
+        if (to != null) range = range.headMap(YearMonth.from(to), true);
+        for (MonthSegment segment : range.values()) {
+            segment.forEachBetween(from, to, action);
+        }
+    }
+
+    /**
+     * Read-only, date-ordered view over every partition. Iteration is linear;
+     * get(i) walks the partition list, so prefer iteration for full scans.
+     */
+    List<Transaction> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+                for (MonthSegment segment : segments.values()) {
+                    if (index < segment.size()) return segment.get(index);
+                    index -= segment.size();
+                }
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Transaction> iterator() {
+                Iterator<MonthSegment> months = segments.values().iterator();
+                return new Iterator<>() {
+                    MonthSegment current;
+                    int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        while ((current == null || position >= current.size()) && months.hasNext()) {
+                            current = months.next();
+                            position = 0;
+                        }
+                        return current != null && position < current.size();
+                    }
+
+                    @Override
+                    public Transaction next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return current.get(position++);
+                    }
+                };
+            }
+        };
+    }
+
+    private MonthSegment newSegment(YearMonth month) {
+        boolean closed = archiveBefore != null && month.isBefore(archiveBefore);
+        return columnar || closed ? newColumnarSegment(month) : new ObjectMonthSegment(month);
+    }
+
+    private ColumnarMonthSegment newColumnarSegment(YearMonth month) {
+        return new ColumnarMonthSegment(month, descriptions, categoryIds, categoryNames);
+    }
+
+    static YearMonth monthOf(Transaction t) {
+        LocalDate date = t.getDate();
+        return date != null ? YearMonth.from(date) : YearMonth.now();
+    }
+}
@@ -0,0 +1,30 @@
+package com.estrada.budget.model;
+
+/**
+ * A month side by side with the same month a year earlier.
+ */
+public record YearOverYear(MonthlySummary current, MonthlySummary priorYear) {
+
+    /** False when the earlier month has no transactions to compare against. */
+    public boolean hasPriorYear() {
+        return priorYear.incomeCents() != 0 || priorYear.expenseCents() != 0;
+    }
+
+    public long incomeChangeCents() {
+        return current.incomeCents() - priorYear.incomeCents();
+    }
+
+    public long expenseChangeCents() {
+        return current.expenseCents() - priorYear.expenseCents();
+    }
+
+    public long spentChangeCents(String category) {
+        return current.spent(category) - priorYear.spent(category);
+    }
+
+    /** Expense change as a fraction of last year's (0.12 = 12% more), or NaN if nothing was spent then. */
+    public double expenseChangeRatio() {
+        long prior = priorYear.expenseCents();
+        return prior == 0 ? Double.NaN : (double) expenseChangeCents() / prior;
+    }
+}
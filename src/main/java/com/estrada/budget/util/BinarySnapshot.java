@@ -0,0 +1,287 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.ScheduledPayment;
+import com.estrada.budget.model.Transaction;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Compact binary snapshot of a Budget, used for fast startup (JSON stays the import/export format).
+ *
+ * Layout, big-endian:
+ *   int magic "EFBS", short version
+ *   int year, byte month (currentMonth), long journalSequence
+ *   int stringCount, then per string: int byteLength + UTF-8 bytes   (category names and descriptions)
+ *   int categoryCount, then per category: int nameId, long budgetedCents, long spentThisMonthCents
+ *   int transactionCount, then per transaction: byte recordLength + record
+ *     record = int epochDay, long cents, int categoryId, int descriptionId, byte flags
+ *   (v2+) int balanceCount, then per balance: int nameId, long balanceCents
+ *   (v3+) int scheduledCount, then per scheduled payment: byte recordLength + record
+ *     record = int payeeId, long cents, int dueEpochDay, int paidThroughEpochDay (NO_DATE = none),
+ *              int noteId, byte flags, byte scheduleFlags (WITHHELD)
+ *
+ * Records are length-prefixed so later versions can append fields and older readers skip them.
+ * Writes go through a 64 KB buffer; reads parse a (memory-mapped) buffer handed in by SnapshotFiles,
+ * which also owns the atomic rename and checksum footer.
+ */
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x45464253; // "EFBS"
+    private static final short VERSION = 3;
+
+    private static final int RECORD_LENGTH = 4 + 8 + 4 + 4 + 1;
+    private static final int SCHEDULED_RECORD_LENGTH = 4 + 8 + 4 + 4 + 4 + 1 + 1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int INCOME = 1;
+    private static final int RECURRING = 1 << 1;
+    private static final int RECURRENCE_SHIFT = 2; // recurrence ordinal + 1, 0 = none
+    private static final int WITHHELD = 1;         // scheduleFlags
+
+    public void write(Budget budget, WritableByteChannel channel) throws IOException {
+        // Writers wait until the snapshot is complete, so it is consistent
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            // First pass: intern every string so the table can precede the records
+            Map<String, Integer> ids = new HashMap<>();
+            List<String> strings = new ArrayList<>();
+            for (Category c : budget.getCategories().values()) {
+                intern(c.getName(), ids, strings);
+            }
+            for (Transaction t : budget.getTransactions()) {
+                intern(t.getCategory(), ids, strings);
+                intern(t.getDescription(), ids, strings);
+            }
+            for (BalanceItem b : budget.getBalances()) {
+                intern(b.getName(), ids, strings);
+            }
+            for (ScheduledPayment sp : budget.getScheduledPayments()) {
+                intern(sp.getPayee(), ids, strings);
+                intern(sp.getNote(), ids, strings);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+            buffer.putInt(MAGIC).putShort(VERSION);
+            YearMonth month = budget.getCurrentMonth();
+            buffer.putInt(month.getYear()).put((byte) month.getMonthValue());
+            buffer.putLong(budget.getJournalSequence());
+
+            buffer.putInt(strings.size());
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                ensure(channel, buffer, 4);
+                buffer.putInt(bytes.length);
+                for (int offset = 0; offset < bytes.length; ) {
+                    ensure(channel, buffer, 1);
+                    int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                    buffer.put(bytes, offset, chunk);
+                    offset += chunk;
+                }
+            }
+
+            ensure(channel, buffer, 4);
+            buffer.putInt(budget.getCategories().size());
+            for (Category c : budget.getCategories().values()) {
+                ensure(channel, buffer, 20);
+                buffer.putInt(ids.get(c.getName()))
+                        .putLong(c.getBudgetedCents())
+                        .putLong(c.getSpentThisMonthCents());
+            }
+
+            ensure(channel, buffer, 4);
+            buffer.putInt(budget.getTransactions().size());
+            for (Transaction t : budget.getTransactions()) {
+                ensure(channel, buffer, 1 + RECORD_LENGTH);
+                buffer.put((byte) RECORD_LENGTH)
+                        .putInt((int) t.getDate().toEpochDay())
+                        .putLong(t.getAmountCents())
+                        .putInt(idOf(t.getCategory(), ids))
+                        .putInt(idOf(t.getDescription(), ids))
+                        .put(encodeFlags(t));
+            }
+
+            ensure(channel, buffer, 4);
+            buffer.putInt(budget.getBalances().size());
+            for (BalanceItem b : budget.getBalances()) {
+                ensure(channel, buffer, 12);
+                buffer.putInt(idOf(b.getName(), ids)).putLong(b.getBalanceCents());
+            }
+
+            ensure(channel, buffer, 4);
+            buffer.putInt(budget.getScheduledPayments().size());
+            for (ScheduledPayment sp : budget.getScheduledPayments()) {
+                ensure(channel, buffer, 1 + SCHEDULED_RECORD_LENGTH);
+                buffer.put((byte) SCHEDULED_RECORD_LENGTH)
+                        .putInt(idOf(sp.getPayee(), ids))
+                        .putLong(sp.getAmountCents())
+                        .putInt(sp.getDueDate() != null ? (int) sp.getDueDate().toEpochDay() : NO_DATE)
+                        .putInt(sp.getPaidThrough() != null ? (int) sp.getPaidThrough().toEpochDay() : NO_DATE)
+                        .putInt(idOf(sp.getNote(), ids))
+                        .put(encodeFlags(sp.isIncome(), false, sp.getRecurrence()))
+                        .put((byte) (sp.isWithheld() ? WITHHELD : 0));
+            }
+
+            drain(channel, buffer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Budget read(ByteBuffer in) throws IOException {
+        try {
+            return readBudget(in);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated or malformed budget snapshot: " + e.getMessage());
+        }
+    }
+
+    private Budget readBudget(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a budget snapshot (bad magic)");
+        }
+        short version = in.getShort();
+        if (version > VERSION) {
+            throw new IOException("Budget snapshot version " + version + " is newer than this app supports");
+        }
+
+        Budget budget = new Budget();
+        int year = in.getInt();
+        budget.setCurrentMonth(YearMonth.of(year, in.get()));
+        budget.setJournalSequence(in.getLong());
+
+        String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int categoryCount = in.getInt();
+        for (int i = 0; i < categoryCount; i++) {
+            Category c = new Category(strings[in.getInt()], in.getLong());
+            c.setSpentThisMonthCents(in.getLong());
+            budget.addCategory(c);
+        }
+
+        Transaction.RecurrenceType[] recurrences = Transaction.RecurrenceType.values();
+        int transactionCount = in.getInt();
+        for (int i = 0; i < transactionCount; i++) {
+            int length = in.get() & 0xFF;
+            int next = in.position() + length;
+
+            LocalDate date = LocalDate.ofEpochDay(in.getInt());
+            long cents = in.getLong();
+            int categoryId = in.getInt();
+            int descriptionId = in.getInt();
+            int flags = in.get();
+
+            Transaction t = new Transaction(cents, date,
+                    descriptionId >= 0 ? strings[descriptionId] : null,
+                    (flags & INCOME) != 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                    categoryId >= 0 ? strings[categoryId] : null);
+            t.setRecurring((flags & RECURRING) != 0);
+            t.setRecurrenceType(decodeRecurrence(flags, recurrences));
+            budget.restoreTransaction(t);
+
+            in.position(next); // skip fields added by newer versions
+        }
+
+        if (version >= 2) {
+            List<BalanceItem> balances = new ArrayList<>();
+            int balanceCount = in.getInt();
+            for (int i = 0; i < balanceCount; i++) {
+                int nameId = in.getInt();
+                balances.add(new BalanceItem(nameId >= 0 ? strings[nameId] : null, in.getLong()));
+            }
+            budget.setBalances(balances);
+        }
+
+        if (version >= 3) {
+            List<ScheduledPayment> payments = new ArrayList<>();
+            int scheduledCount = in.getInt();
+            for (int i = 0; i < scheduledCount; i++) {
+                int length = in.get() & 0xFF;
+                int next = in.position() + length;
+
+                int payeeId = in.getInt();
+                long cents = in.getLong();
+                int due = in.getInt();
+                int paidThrough = in.getInt();
+                int noteId = in.getInt();
+                int flags = in.get();
+
+                ScheduledPayment sp = new ScheduledPayment(payeeId >= 0 ? strings[payeeId] : null, cents,
+                        (flags & INCOME) != 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                        due != NO_DATE ? LocalDate.ofEpochDay(due) : null,
+                        decodeRecurrence(flags, recurrences));
+                sp.setPaidThrough(paidThrough != NO_DATE ? LocalDate.ofEpochDay(paidThrough) : null);
+                sp.setNote(noteId >= 0 ? strings[noteId] : null);
+                sp.setWithheld((in.get() & WITHHELD) != 0);
+                payments.add(sp);
+
+                in.position(next);
+            }
+            budget.setScheduledPayments(payments);
+        }
+        return budget;
+    }
+
+    private static void intern(String value, Map<String, Integer> ids, List<String> strings) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static int idOf(String value, Map<String, Integer> ids) {
+        return value != null ? ids.get(value) : -1;
+    }
+
+    private static byte encodeFlags(Transaction t) {
+        return encodeFlags(t.getType() == Transaction.TransactionType.INCOME, t.isRecurring(), t.getRecurrenceType());
+    }
+
+    private static byte encodeFlags(boolean income, boolean recurring, Transaction.RecurrenceType recurrence) {
+        int flags = 0;
+        if (income) flags |= INCOME;
+        if (recurring) flags |= RECURRING;
+        if (recurrence != null) flags |= (recurrence.ordinal() + 1) << RECURRENCE_SHIFT;
+        return (byte) flags;
+    }
+
+    private static Transaction.RecurrenceType decodeRecurrence(int flags, Transaction.RecurrenceType[] recurrences) {
+        int recurrence = (flags >> RECURRENCE_SHIFT) & 0x7;
+        return recurrence > 0 ? recurrences[recurrence - 1] : null;
+    }
+
+    private static void ensure(WritableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
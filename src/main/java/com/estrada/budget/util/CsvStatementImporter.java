@@ -0,0 +1,257 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.Transaction;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bulk importer for bank / credit-card CSV exports.
+ *
+ * One thread streams rows out of OpenCSV in chunks; chunks are parsed into Transactions in
+ * parallel on the executor (at most a few chunks in flight, so memory stays bounded), and the
+ * results are handed to a sink in file order in large batches. The caller then persists once.
+ *
+ * On credit-card layouts, credits are payments toward the card (skipped, since checking already
+ * records them) or refunds, which become negative expenses in the purchase's category.
+ */
+public class CsvStatementImporter {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int COMMIT_BATCH_SIZE = 50_000;
+    private static final String DEFAULT_CATEGORY = "Miscellaneous";
+    private static final String DEFAULT_INCOME_CATEGORY = "Tax Refunds / Other Income";
+
+    private final Executor executor;
+    private final int maxInFlight;
+    private Function<String, String> categorizer = description -> null;
+
+    public CsvStatementImporter() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public CsvStatementImporter(Executor executor, int parallelism) {
+        this.executor = executor;
+        this.maxInFlight = Math.max(2, parallelism * 2);
+    }
+
+    /**
+     * Maps a description to a category name; return null to use the default category.
+     * Called concurrently from the parsing threads.
+     */
+    public void setCategorizer(Function<String, String> categorizer) {
+        this.categorizer = categorizer;
+    }
+
+    /**
+     * Imports straight into the budget, one batch at a time; each batch is a single
+     * Budget.addTransactions, so readers never see half of one.
+     */
+    public ImportResult importInto(Path csv, StatementLayout layout, Budget budget) throws IOException {
+        return importFile(csv, layout, budget::addTransactions);
+    }
+
+    /**
+     * Streams the file and passes parsed transactions to the sink in file order,
+     * in batches of up to COMMIT_BATCH_SIZE.
+     */
+    public ImportResult importFile(Path csv, StatementLayout layout, Consumer<List<Transaction>> sink) throws IOException {
+        try (Reader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             CSVReader reader = new CSVReaderBuilder(in).build()) {
+
+            Columns columns = Columns.resolve(reader.readNext(), layout);
+            Deque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+            Batcher batcher = new Batcher(sink);
+
+            String[][] rows = new String[CHUNK_SIZE][];
+            int filled = 0;
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows[filled++] = row;
+                if (filled == CHUNK_SIZE) {
+                    submit(rows, filled, columns, layout, inFlight, batcher);
+                    rows = new String[CHUNK_SIZE][];
+                    filled = 0;
+                }
+            }
+            if (filled > 0) {
+                submit(rows, filled, columns, layout, inFlight, batcher);
+            }
+            while (!inFlight.isEmpty()) {
+                batcher.accept(join(inFlight.poll()));
+            }
+            batcher.flush();
+
+            System.out.println("Imported " + batcher.imported + " transaction(s) from " + csv
+                    + (batcher.skipped > 0 ? " (" + batcher.skipped + " row(s) skipped)" : ""));
+            return new ImportResult(batcher.imported, batcher.skipped);
+
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed CSV in " + csv + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void submit(String[][] rows, int count, Columns columns, StatementLayout layout,
+                        Deque<CompletableFuture<Chunk>> inFlight, Batcher batcher) {
+        inFlight.add(CompletableFuture.supplyAsync(() -> parseChunk(rows, count, columns, layout), executor));
+        // Back-pressure: never hold more than maxInFlight parsed chunks
+        while (inFlight.size() >= maxInFlight) {
+            batcher.accept(join(inFlight.poll()));
+        }
+    }
+
+    private Chunk parseChunk(String[][] rows, int count, Columns columns, StatementLayout layout) {
+        List<Transaction> parsed = new ArrayList<>(count);
+        int skipped = 0;
+        for (int i = 0; i < count; i++) {
+            Transaction t = parseRow(rows[i], columns, layout);
+            if (t != null) parsed.add(t);
+            else skipped++;
+        }
+        return new Chunk(parsed, skipped);
+    }
+
+    private Transaction parseRow(String[] row, Columns columns, StatementLayout layout) {
+        try {
+            String dateText = cell(row, columns.date);
+            if (dateText == null) return null;
+            LocalDate date = LocalDate.parse(dateText, layout.getDateFormat());
+
+            long outgoing; // positive = money out
+            if (columns.amount >= 0) {
+                long amount = parseAmount(cell(row, columns.amount));
+                outgoing = layout.isPositiveExpense() ? amount : -amount;
+            } else {
+                String debit = cell(row, columns.debit);
+                String credit = cell(row, columns.credit);
+                outgoing = (debit != null ? Math.abs(parseAmount(debit)) : 0)
+                        - (credit != null ? Math.abs(parseAmount(credit)) : 0);
+            }
+            if (outgoing == 0) return null;
+
+            String description = cell(row, columns.description);
+            if (outgoing < 0 && layout.isCreditCard()) {
+                // A card credit is never income: payments are skipped, refunds reduce spending
+                if (StatementLayout.isCardPayment(description)) return null;
+                String category = categorizer.apply(description);
+                return new Transaction(outgoing, date, description, Transaction.TransactionType.EXPENSE,
+                        category != null ? category : DEFAULT_CATEGORY);
+            }
+            Transaction.TransactionType type = outgoing > 0 ?
+                    Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME;
+            String category = categorizer.apply(description);
+            if (category == null) {
+                category = type == Transaction.TransactionType.INCOME ? DEFAULT_INCOME_CATEGORY : DEFAULT_CATEGORY;
+            }
+            return new Transaction(Math.abs(outgoing), date, description, type, category);
+
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Accepts "$1,234.56", "-12.00" and accounting-style "(12.00)"
+    private static long parseAmount(String text) {
+        if (text == null) throw new NumberFormatException("empty amount");
+        if (text.startsWith("(") && text.endsWith(")")) {
+            return -Money.parse(text.substring(1, text.length() - 1));
+        }
+        return Money.parse(text);
+    }
+
+    private static String cell(String[] row, int index) {
+        if (index < 0 || index >= row.length) return null;
+        String value = row[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Chunk join(CompletableFuture<Chunk> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /** skipped counts rows without a usable date or amount, plus payments on card statements. */
+    public record ImportResult(int imported, int skipped) {
+    }
+
+    private record Chunk(List<Transaction> transactions, int skipped) {
+    }
+
+    private record Columns(int date, int description, int amount, int debit, int credit) {
+
+        static Columns resolve(String[] header, StatementLayout layout) throws IOException {
+            if (header == null) {
+                throw new IOException("CSV file is empty");
+            }
+            Columns columns = new Columns(
+                    indexOf(header, layout.getDateHeader()),
+                    indexOf(header, layout.getDescriptionHeader()),
+                    indexOf(header, layout.getAmountHeader()),
+                    indexOf(header, layout.getDebitHeader()),
+                    indexOf(header, layout.getCreditHeader()));
+            if (columns.date < 0 || (columns.amount < 0 && columns.debit < 0 && columns.credit < 0)) {
+                throw new IOException("CSV header does not match the " + layout + " layout");
+            }
+            return columns;
+        }
+
+        private static int indexOf(String[] header, String name) {
+            if (name == null) return -1;
+            for (int i = 0; i < header.length; i++) {
+                // Strip a UTF-8 BOM some banks put in front of the first header
+                String cell = header[i].replace("\uFEFF", "").trim();
+                if (cell.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) return i;
+            }
+            return -1;
+        }
+    }
+
+    // Collects parsed chunks (in file order) into large batches for the sink
+    private static class Batcher {
+        private final Consumer<List<Transaction>> sink;
+        private List<Transaction> batch = new ArrayList<>();
+        int imported = 0;
+        int skipped = 0;
+
+        Batcher(Consumer<List<Transaction>> sink) {
+            this.sink = sink;
+        }
+
+        void accept(Chunk chunk) {
+            batch.addAll(chunk.transactions());
+            imported += chunk.transactions().size();
+            skipped += chunk.skipped();
+            if (batch.size() >= COMMIT_BATCH_SIZE) flush();
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            sink.accept(batch);
+            batch = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.MonthlySummary;
+import com.estrada.budget.model.Transaction;
+import com.opencsv.CSVWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * CSV exports of transactions, monthly category summaries and balances.
+ *
+ * Rows are written straight from the Budget's month partitions through a buffered writer,
+ * reusing one row array, so memory use does not grow with the length of the history.
+ * Exports hold the budget's read lock, so the file reflects a single consistent state while
+ * summaries and other exports carry on; writers wait until the export is done.
+ */
+public final class ExportUtil {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] TRANSACTION_HEADER =
+            {"Date", "Description", "Category", "Type", "Amount", "Recurring", "Recurrence"};
+    private static final String[] SUMMARY_HEADER =
+            {"Month", "Category", "Budgeted", "Spent", "Remaining"};
+    private static final String[] BALANCE_HEADER = {"Account", "Balance"};
+
+    private ExportUtil() {
+    }
+
+    /**
+     * Writes transactions dated within [from, to] (null bounds are open-ended),
+     * optionally limited to one category. Returns the number of rows written.
+     */
+    public static int exportTransactions(Budget budget, Path csv, LocalDate from, LocalDate to,
+                                         String category) throws IOException {
+        try (Writer out = open(csv)) {
+            return exportTransactions(budget, out, from, to, category);
+        }
+    }
+
+    public static int exportTransactions(Budget budget, Writer out, LocalDate from, LocalDate to,
+                                         String category) throws IOException {
+        CSVWriter csv = new CSVWriter(out);
+        csv.writeNext(TRANSACTION_HEADER, false);
+
+        String[] row = new String[TRANSACTION_HEADER.length];
+        int[] written = {0};
+        try {
+            // Holds the budget's read lock for the whole walk, so the rows are a consistent snapshot
+            budget.forEachTransactionBetween(from, to, t -> {
+                if (category != null && !Objects.equals(category, t.getCategory())) return;
+                row[0] = t.getDate().toString();
+                row[1] = t.getDescription();
+                row[2] = t.getCategory();
+                row[3] = t.getType() != null ? t.getType().name() : null;
+                row[4] = Money.format(t.getAmountCents());
+                row[5] = Boolean.toString(t.isRecurring());
+                row[6] = t.isRecurring() && t.getRecurrenceType() != null ? t.getRecurrenceType().name() : null;
+                csv.writeNext(row);
+                written[0]++;
+                if (csv.getException() != null) throw new UncheckedIOException(csv.getException());
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+        checkError(csv);
+        return written[0];
+    }
+
+    /**
+     * Writes one row per category for every month in [from, to] (null bounds are open-ended)
+     * that has transactions, optionally limited to one category. Returns the number of rows written.
+     */
+    public static int exportCategorySummaries(Budget budget, Path csv, YearMonth from, YearMonth to,
+                                              String category) throws IOException {
+        try (Writer out = open(csv)) {
+            return exportCategorySummaries(budget, out, from, to, category);
+        }
+    }
+
+    public static int exportCategorySummaries(Budget budget, Writer out, YearMonth from, YearMonth to,
+                                              String category) throws IOException {
+        CSVWriter csv = new CSVWriter(out);
+        csv.writeNext(SUMMARY_HEADER, false);
+
+        String[] row = new String[SUMMARY_HEADER.length];
+        int written = 0;
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            for (YearMonth month : budget.transactionMonths()) {
+                if (from != null && month.isBefore(from)) continue;
+                if (to != null && month.isAfter(to)) break;
+
+                MonthlySummary summary = budget.summarize(month);
+                List<String> names = summary.categoryNames();
+                for (int i = 0; i < names.size(); i++) {
+                    String name = names.get(i);
+                    if (category != null && !category.equals(name)) continue;
+                    Category c = budget.getCategories().get(name);
+                    long budgeted = c != null ? c.getBudgetedCents() : 0;
+                    long spent = summary.spentAt(i);
+                    row[0] = month.toString();
+                    row[1] = name;
+                    row[2] = Money.format(budgeted);
+                    row[3] = Money.format(spent);
+                    row[4] = Money.format(budgeted - spent);
+                    csv.writeNext(row);
+                    written++;
+                }
+                checkError(csv);
+            }
+        } finally {
+            lock.unlock();
+        }
+        csv.flush();
+        checkError(csv);
+        return written;
+    }
+
+    public static int exportBalances(Budget budget, Path csv) throws IOException {
+        try (Writer out = open(csv)) {
+            return exportBalances(budget, out);
+        }
+    }
+
+    public static int exportBalances(Budget budget, Writer out) throws IOException {
+        CSVWriter csv = new CSVWriter(out);
+        csv.writeNext(BALANCE_HEADER, false);
+
+        String[] row = new String[BALANCE_HEADER.length];
+        int written = 0;
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            for (BalanceItem b : budget.getBalances()) {
+                row[0] = b.getName();
+                row[1] = Money.format(b.getBalanceCents());
+                csv.writeNext(row);
+                written++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        csv.flush();
+        checkError(csv);
+        return written;
+    }
+
+    private static Writer open(Path csv) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(csv), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    // CSVWriter records write failures instead of throwing; surface them rather than leave a short file.
+    // (Its checkError() would also flush, defeating the buffer, so read the recorded exception directly.)
+    private static void checkError(CSVWriter csv) throws IOException {
+        if (csv.getException() != null) {
+            throw csv.getException();
+        }
+    }
+}
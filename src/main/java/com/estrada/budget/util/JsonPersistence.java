@@ -2,55 +2,241 @@ package com.estrada.budget.util;
 
 import java.time.YearMonth;
 import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Transaction;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 public class JsonPersistence {
 
     private static final String APP_DATA_DIR = System.getProperty("user.home") + "/EstradaFamilyBudget";
     private static final String FILE_NAME = "budget.json";
     private static final Path DATA_PATH = Paths.get(APP_DATA_DIR, FILE_NAME);
+    private static final Path SNAPSHOT_PATH = Paths.get(APP_DATA_DIR, "budget.bin");
+    private static final Path JOURNAL_PATH = Paths.get(APP_DATA_DIR, "budget.journal");
+    private static final Path LOCK_PATH = Paths.get(APP_DATA_DIR, "budget.lock");
 
-    private final ObjectMapper mapper;
+    // Fold the journal into a fresh snapshot after this many appends
+    private static final int SNAPSHOT_INTERVAL = 500;
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    // Older snapshots kept as budget.bin.1 .. budget.bin.N for recovery
+    private static final int SNAPSHOT_GENERATIONS = 3;
+
+    private final TransactionJournal journal;
+    private final BinarySnapshot binarySnapshot = new BinarySnapshot();
+    private final StreamingJsonCodec jsonCodec = new StreamingJsonCodec();
+    private final SnapshotFiles snapshotFiles = new SnapshotFiles(SNAPSHOT_GENERATIONS);
+
+    private ObjectMapper mapper;
+    private volatile boolean dataDirectoryReady;
+    private FileChannel lockChannel;
+    private FileLock dataLock;
+
+    /**
+     * Cheap to construct: the data directory is created on the first write and the Jackson
+     * mapper on first use, so startup (App, BudgetCli) only pays for what load() touches.
+     */
     public JsonPersistence() {
-        mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());  // Required for LocalDate, YearMonth, etc.
-        mapper.findAndRegisterModules();             // Auto-discover other modules if needed
+        journal = new TransactionJournal(JOURNAL_PATH, this::mapper);
+    }
+
+    /**
+     * Takes an exclusive OS lock on budget.lock in the data directory, so a second App or
+     * BudgetCli process cannot interleave its journal appends and snapshot renames with ours.
+     * Call before load() in any process that will write; the lock is held until
+     * unlockDataDirectory() or process exit. The lock file itself is never deleted: a process
+     * that recreated it could lock a different file than the one already held.
+     *
+     * @throws DataDirectoryInUseException if another process (or instance) holds the lock
+     */
+    public synchronized void lockDataDirectory() throws IOException {
+        if (dataLock != null) return;
+        ensureDataDirectory();
+        FileChannel channel = FileChannel.open(LOCK_PATH, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;  // held by another JsonPersistence in this JVM
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new DataDirectoryInUseException("The budget in " + APP_DATA_DIR
+                    + " is in use by another process (the app or the budget command line). Close it and try again.");
+        }
+        lockChannel = channel;
+        dataLock = lock;
+    }
 
-        // Create the app data directory if it doesn't exist
+    public synchronized void unlockDataDirectory() {
+        if (dataLock == null) return;
         try {
-            Files.createDirectories(Paths.get(APP_DATA_DIR));
-            System.out.println("App data directory ready: " + APP_DATA_DIR);
+            dataLock.release();
+            lockChannel.close();
         } catch (IOException e) {
-            System.err.println("Failed to create app data directory: " + e.getMessage());
+            System.err.println("Failed to release " + LOCK_PATH + ": " + e.getMessage());
         }
+        dataLock = null;
+        lockChannel = null;
     }
 
     /**
-     * Saves the current Budget object to JSON file.
+     * Records a transaction that was just added to the budget.
+     * Appends one line to the journal; the full snapshot is only rewritten every SNAPSHOT_INTERVAL appends.
+     */
+    public void append(Budget budget, Transaction t) throws IOException {
+        journal.append(t);
+        if (isSnapshotDue()) {
+            save(budget);
+        }
+    }
+
+    /**
+     * Journals a batch of transactions with a single fsync. Does not snapshot;
+     * callers check isSnapshotDue() and call save() themselves.
+     */
+    public void appendToJournal(List<Transaction> batch) throws IOException {
+        journal.appendAll(batch);
+    }
+
+    public boolean isSnapshotDue() {
+        return journal.getPendingEntries() >= SNAPSHOT_INTERVAL;
+    }
+
+    /**
+     * Saves the current Budget as a binary snapshot (budget.bin) and truncates the journal.
+     * The snapshot is written to a temp file, checksummed and atomically renamed into place,
+     * so the journal is only truncated once a complete snapshot is on disk.
      */
     public void save(Budget budget) throws IOException {
         if (budget == null) {
             System.err.println("Cannot save null budget.");
             return;
         }
-        mapper.writerWithDefaultPrettyPrinter().writeValue(DATA_PATH.toFile(), budget);
-        System.out.println("Budget saved successfully to: " + DATA_PATH);
+        writeSnapshot(captureSnapshot(budget));
+    }
+
+    /**
+     * First half of save(): records the journal sequence the snapshot covers and serializes the
+     * budget into memory under its read lock. This is the only part that has to be consistent
+     * with concurrent adds (see PersistenceService); it costs no disk I/O.
+     */
+    public byte[] captureSnapshot(Budget budget) throws IOException {
+        journal.markSnapshot(budget);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(STREAM_BUFFER_SIZE);
+        binarySnapshot.write(budget, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    /**
+     * Second half of save(): writes a captured snapshot to disk (temp file, fsync, rename) and
+     * then truncates the journal. Must not race with journal appends; PersistenceService calls
+     * both from its single writer thread.
+     */
+    public void writeSnapshot(byte[] snapshot) throws IOException {
+        ensureDataDirectory();
+        snapshotFiles.write(SNAPSHOT_PATH, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+        journal.truncate();
+        System.out.println("Budget saved successfully to: " + SNAPSHOT_PATH);
     }
 
     /**
-     * Loads the Budget from JSON file.
-     * If file is missing → returns new default Budget
-     * If file is corrupt/invalid → deletes it and returns new default Budget
+     * Writes the Budget as pretty-printed JSON (export / hand-editing / backups).
+     * Streams one transaction at a time, so memory stays flat for any history size.
+     */
+    public void exportJson(Budget budget, Path target) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), STREAM_BUFFER_SIZE)) {
+            jsonCodec.write(budget, out);
+        }
+        System.out.println("Budget exported to: " + target);
+    }
+
+    /**
+     * Reads a Budget from a JSON file written by exportJson (or by older versions of the app),
+     * streaming transactions straight into the Budget.
+     */
+    public Budget importJson(Path source) throws IOException {
+        Budget imported;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source), STREAM_BUFFER_SIZE)) {
+            imported = jsonCodec.read(in);
+        }
+
+        // Extra safety: ensure currentMonth is never null after load
+        if (imported.getCurrentMonth() == null) {
+            imported.setCurrentMonth(YearMonth.now());
+            System.out.println("Fixed null currentMonth after loading.");
+        }
+        return imported;
+    }
+
+    /**
+     * Loads the Budget: snapshot plus replay of any journaled transactions.
+     * The newest binary snapshot generation whose checksum verifies is used; budget.json is read
+     * when no usable binary snapshot exists (e.g. data written before the binary format).
+     * If no snapshot exists → returns new default Budget (journal still replayed)
+     * Corrupt files are never deleted; they are skipped and left on disk for manual recovery.
      */
     public Budget load() throws IOException {
+        Budget loaded = loadSnapshot();
+        int replayed = journal.replay(loaded);
+        if (replayed > 0) {
+            System.out.println("Replayed " + replayed + " journaled transaction(s) from: " + JOURNAL_PATH);
+        }
+        // Close out any months that ended since the last save; also re-derives category spend
+        loaded.rollOver(YearMonth.now());
+        return loaded;
+    }
+
+    private synchronized ObjectMapper mapper() {
+        if (mapper == null) {
+            mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());  // Required for LocalDate, YearMonth, etc.
+            mapper.findAndRegisterModules();             // Auto-discover other modules if needed
+        }
+        return mapper;
+    }
+
+    // Create the app data directory if it doesn't exist
+    private void ensureDataDirectory() throws IOException {
+        if (dataDirectoryReady) return;
+        Files.createDirectories(Paths.get(APP_DATA_DIR));
+        System.out.println("App data directory ready: " + APP_DATA_DIR);
+        dataDirectoryReady = true;
+    }
+
+    private Budget loadSnapshot() {
+        Budget snapshot = snapshotFiles.readNewestValid(SNAPSHOT_PATH, binarySnapshot::read);
+        if (snapshot != null) {
+            System.out.println("Loaded budget snapshot from: " + SNAPSHOT_PATH.getParent());
+            return snapshot;
+        }
+
         if (!Files.exists(DATA_PATH)) {
             System.out.println("No saved budget file found. Starting with default budget.");
             return new Budget();
@@ -59,36 +245,33 @@ public class JsonPersistence {
         System.out.println("Loading budget from: " + DATA_PATH);
 
         try {
-            Budget loaded = mapper.readValue(DATA_PATH.toFile(), Budget.class);
-
-            // Extra safety: ensure currentMonth is never null after load
-            if (loaded.getCurrentMonth() == null) {
-                loaded.setCurrentMonth(YearMonth.now());
-                System.out.println("Fixed null currentMonth after loading.");
-            }
-
-            return loaded;
+            return importJson(DATA_PATH);
 
         } catch (Exception e) {
-            // Handle corrupt/incomplete JSON
+            // Handle corrupt/incomplete JSON: keep the file for manual recovery
             System.err.println("Failed to load budget JSON: " + e.getMessage());
-            System.err.println("Deleting corrupt file and starting with default budget.");
-
-            // Auto-delete the bad file
-            try {
-                Files.deleteIfExists(DATA_PATH);
-                System.out.println("Corrupt file deleted: " + DATA_PATH);
-            } catch (IOException deleteEx) {
-                System.err.println("Failed to delete corrupt file: " + deleteEx.getMessage());
-            }
-
-            // Return fresh budget
+            System.err.println("Leaving " + DATA_PATH + " in place and starting with default budget.");
             return new Budget();
         }
     }
 
+    /** Thrown by lockDataDirectory() when another process already has the data directory. */
+    public static class DataDirectoryInUseException extends IOException {
+        DataDirectoryInUseException(String message) {
+            super(message);
+        }
+    }
+
     // Optional: Getter for the file path (useful for debugging or UI display)
     public Path getDataPath() {
         return DATA_PATH;
     }
+
+    public Path getSnapshotPath() {
+        return SNAPSHOT_PATH;
+    }
+
+    public Path getJournalPath() {
+        return JOURNAL_PATH;
+    }
 }
\ No newline at end of file
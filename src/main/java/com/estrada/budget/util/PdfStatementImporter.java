@@ -0,0 +1,272 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.Transaction;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts transactions and the ending balance from bank / credit-card PDF statements.
+ *
+ * Each statement is read page by page with PDFBox's text stripper and scanned line by line;
+ * several statements are processed at once on a bounded pool. The results are committed to
+ * the Budget in one batch, and each account's BalanceItem is set from its most recent statement.
+ *
+ * A statement whose account is not recognized is skipped: without the layout there is no telling
+ * whether a positive amount is a purchase or a deposit. On card statements, credits are payments
+ * toward the card (skipped) or refunds, which become negative expenses as in CsvStatementImporter.
+ */
+public class PdfStatementImporter {
+
+    private static final String DEFAULT_CATEGORY = "Miscellaneous";
+    private static final String DEFAULT_INCOME_CATEGORY = "Tax Refunds / Other Income";
+
+    private static final String AMOUNT = "-?\\$?[\\d,]+\\.\\d{2}-?|\\(\\$?[\\d,]+\\.\\d{2}\\)";
+
+    // "01/15  [01/16]  DESCRIPTION  -45.00  [3,581.20]" — optional posting date and running balance
+    private static final Pattern TRANSACTION_LINE = Pattern.compile(
+            "^(\\d{1,2})/(\\d{1,2})(?:/(\\d{2,4}))?\\s+(?:\\d{1,2}/\\d{1,2}(?:/\\d{2,4})?\\s+)?"
+                    + "(.+?)\\s+(" + AMOUNT + ")(?:\\s+(?:" + AMOUNT + "))?$");
+
+    // "New Balance $1,234.56", "Ending Balance on 01/31/2026 $3,581.20", "Closing balance as of January 31, 2026 ..."
+    private static final Pattern ENDING_BALANCE = Pattern.compile(
+            "(?i)(?:ending|new|closing)\\s+balance\\b[^\\d$(-]*"
+                    + "(?:(?:\\d{1,2}/\\d{1,2}(?:/\\d{2,4})?|[a-z]{3,9}\\.?\\s+\\d{1,2},?\\s+\\d{4})[^\\d$(-]*)?"
+                    + "(" + AMOUNT + ")");
+
+    // Dated "Beginning Balance" / "Daily Balance" rows are not transactions; only the label
+    // itself counts, so real rows such as "BALANCE TRANSFER" or "... BALANCE PMT" are kept
+    private static final Pattern SUMMARY_LINE = Pattern.compile(
+            "(?i)^(?:(?:previous|new|beginning|opening|ending|closing|daily)\\s+balance|balance\\s+forward)\\b");
+
+    private static final Pattern FULL_DATE = Pattern.compile("\\b(\\d{1,2})/(\\d{1,2})/(\\d{4})\\b");
+
+    private final int parallelism;
+    private Function<String, String> categorizer = description -> null;
+
+    public PdfStatementImporter() {
+        this(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * @param parallelism maximum number of statements parsed at once (each holds a PDF in memory)
+     */
+    public PdfStatementImporter(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Maps a description to a category name; return null to use the default category.
+     * Called concurrently from the extraction threads.
+     */
+    public void setCategorizer(Function<String, String> categorizer) {
+        this.categorizer = categorizer;
+    }
+
+    /**
+     * Extracts every statement and commits the transactions and balances to the budget as one
+     * batch. The caller persists once afterwards.
+     */
+    public List<StatementExtract> importInto(List<Path> statements, Budget budget) throws IOException {
+        List<StatementExtract> extracts = extractAll(statements);
+
+        List<Transaction> all = new ArrayList<>();
+        extracts.forEach(e -> all.addAll(e.transactions()));
+
+        // Oldest first, so each account ends up with the balance from its latest statement
+        List<StatementExtract> byDate = new ArrayList<>(extracts);
+        byDate.sort(Comparator.comparing(StatementExtract::closingDate,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<String, Long> balances = new LinkedHashMap<>();
+        for (StatementExtract e : byDate) {
+            if (e.endingBalanceCents() != null && e.layout() != null) {
+                balances.put(e.layout().getAccountName(), e.endingBalanceCents());
+            }
+        }
+        budget.applyImport(all, balances);
+        System.out.println("Imported " + all.size() + " transaction(s) from " + extracts.size() + " PDF statement(s)");
+        return extracts;
+    }
+
+    /**
+     * Extracts the statements concurrently; results are returned in input order.
+     */
+    public List<StatementExtract> extractAll(List<Path> statements) throws IOException {
+        if (statements.size() == 1) {
+            return List.of(extract(statements.get(0)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, statements.size()), r -> {
+            Thread t = new Thread(r, "pdf-import");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<StatementExtract>> futures = new ArrayList<>();
+            for (Path pdf : statements) {
+                futures.add(pool.submit(() -> extract(pdf)));
+            }
+            List<StatementExtract> extracts = new ArrayList<>(futures.size());
+            for (Future<StatementExtract> future : futures) {
+                extracts.add(future.get());
+            }
+            return extracts;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF import interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads a single statement page by page.
+     */
+    public StatementExtract extract(Path pdf) throws IOException {
+        List<String> pages = new ArrayList<>();
+        try (PDDocument document = Loader.loadPDF(pdf.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                pages.add(stripper.getText(document));
+            }
+        } catch (IOException e) {
+            throw new IOException("Could not read " + pdf.getFileName() + ": " + e.getMessage(), e);
+        }
+        if (pages.isEmpty()) {
+            return new StatementExtract(pdf, null, null, List.of(), null);
+        }
+
+        // The account and statement period are printed on the first page
+        StatementLayout layout = StatementLayout.detect(pages.get(0));
+        LocalDate closingDate = latestFullDate(pages.get(0));
+        if (layout == null) {
+            return new StatementExtract(pdf, null, closingDate, List.of(), null);
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        Long endingBalance = null;
+        for (String page : pages) {
+            for (String rawLine : page.split("\\R")) {
+                String line = rawLine.trim();
+                if (line.isEmpty()) continue;
+
+                Matcher balance = ENDING_BALANCE.matcher(line);
+                if (endingBalance == null && balance.find()) {
+                    endingBalance = parseAmount(balance.group(1));
+                    continue;
+                }
+
+                Transaction t = parseLine(line, closingDate, layout.isCreditCard());
+                if (t != null) transactions.add(t);
+            }
+        }
+        return new StatementExtract(pdf, layout, closingDate, transactions, endingBalance);
+    }
+
+    private Transaction parseLine(String line, LocalDate closingDate, boolean creditCard) {
+        Matcher m = TRANSACTION_LINE.matcher(line);
+        if (!m.matches()) return null;
+        try {
+            int month = Integer.parseInt(m.group(1));
+            int day = Integer.parseInt(m.group(2));
+            LocalDate date = LocalDate.of(yearFor(m.group(3), month, closingDate), month, day);
+
+            long amount = parseAmount(m.group(5));
+            // Checking statements show withdrawals as negative; card statements show purchases as positive
+            long outgoing = creditCard ? amount : -amount;
+            if (outgoing == 0) return null;
+
+            String description = m.group(4).trim();
+            if (SUMMARY_LINE.matcher(description).find()) return null;
+            if (outgoing < 0 && creditCard) {
+                // A card credit is never income: payments are skipped, refunds reduce spending
+                if (StatementLayout.isCardPayment(description)) return null;
+                String category = categorizer.apply(description);
+                return new Transaction(outgoing, date, description, Transaction.TransactionType.EXPENSE,
+                        category != null ? category : DEFAULT_CATEGORY);
+            }
+            Transaction.TransactionType type = outgoing > 0 ?
+                    Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME;
+            String category = categorizer.apply(description);
+            if (category == null) {
+                category = type == Transaction.TransactionType.INCOME ? DEFAULT_INCOME_CATEGORY : DEFAULT_CATEGORY;
+            }
+            return new Transaction(Math.abs(outgoing), date, description, type, category);
+
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Lines usually carry only MM/DD; a December line on a January statement belongs to the prior year
+    private static int yearFor(String yearText, int month, LocalDate closingDate) {
+        if (yearText != null) {
+            int year = Integer.parseInt(yearText);
+            return year < 100 ? 2000 + year : year;
+        }
+        if (closingDate == null) return LocalDate.now().getYear();
+        return month > closingDate.getMonthValue() ? closingDate.getYear() - 1 : closingDate.getYear();
+    }
+
+    private static LocalDate latestFullDate(String text) {
+        LocalDate latest = null;
+        Matcher m = FULL_DATE.matcher(text);
+        while (m.find()) {
+            try {
+                LocalDate date = LocalDate.of(Integer.parseInt(m.group(3)),
+                        Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                if (latest == null || date.isAfter(latest)) latest = date;
+            } catch (DateTimeException e) {
+                // Not a date (e.g. an account number fragment)
+            }
+        }
+        return latest;
+    }
+
+    // Accepts "$1,234.56", "-12.00", trailing-minus "12.00-" and accounting-style "(12.00)"
+    private static long parseAmount(String text) {
+        if (text.startsWith("(") && text.endsWith(")")) {
+            return -Money.parse(text.substring(1, text.length() - 1));
+        }
+        if (text.endsWith("-")) {
+            return -Money.parse(text.substring(0, text.length() - 1));
+        }
+        return Money.parse(text);
+    }
+
+    /**
+     * @param layout             the detected account, or null if the statement was not recognized
+     *                           (its transactions are then left out and the list is empty)
+     * @param closingDate        latest full date on the first page, or null
+     * @param endingBalanceCents first "ending / new / closing balance" on the statement, or null
+     */
+    public record StatementExtract(Path source, StatementLayout layout, LocalDate closingDate,
+                                   List<Transaction> transactions, Long endingBalanceCents) {
+    }
+}
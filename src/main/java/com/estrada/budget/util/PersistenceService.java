@@ -0,0 +1,228 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Transaction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs JsonPersistence on a single background writer thread so the JavaFX thread never blocks on disk I/O.
+ *
+ * Requests arriving within COALESCE_DELAY_MS of each other are merged into one drain:
+ * all queued transactions go to the journal with a single fsync, and any number of
+ * snapshot requests collapse into one snapshot write.
+ *
+ * commitLock is the consistency boundary: addTransaction() mutates the budget and queues the
+ * journal record under it, and a snapshot is captured (journal sequence stamped, budget
+ * serialized to memory) under it, so a transaction is either in the snapshot or in the journal
+ * after it — never both. Writing the captured snapshot to disk happens outside the lock, so
+ * adds on the FX thread only ever wait for the in-memory capture, not for the disk.
+ * The locks are ReentrantLocks rather than monitors so BudgetApiServer's virtual threads can
+ * block on them without pinning their carrier thread.
+ *
+ * A failed write is retried with a full snapshot, after a delay that doubles up to
+ * MAX_RETRY_DELAY_MS while the disk keeps failing.
+ */
+public class PersistenceService {
+
+    private static final long COALESCE_DELAY_MS = 100;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final JsonPersistence persistence;
+    private final Budget budget;
+    private final Consumer<Throwable> errorHandler;
+    private final ScheduledExecutorService writer;
+
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final ReentrantLock queueLock = new ReentrantLock();  // guards the fields below
+    private List<Transaction> pendingAppends = new ArrayList<>();
+    private boolean snapshotRequested = false;
+    private CompletableFuture<Void> pendingResult = new CompletableFuture<>();
+    private boolean drainScheduled = false;
+    private int consecutiveFailures = 0;
+
+    /**
+     * @param errorHandler called on the writer thread when a write fails
+     *                     (the App wraps it in Platform.runLater)
+     */
+    public PersistenceService(JsonPersistence persistence, Budget budget, Consumer<Throwable> errorHandler) {
+        this.persistence = persistence;
+        this.budget = budget;
+        this.errorHandler = errorHandler;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "budget-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Adds the transaction to the budget and queues it for the journal.
+     * Returns a future that completes once it is durable on disk.
+     */
+    public CompletableFuture<Void> addTransaction(Transaction t) {
+        commitLock.lock();
+        try {
+            budget.addTransaction(t);
+            queueLock.lock();
+            try {
+                pendingAppends.add(t);
+                return scheduleDrain();
+            } finally {
+                queueLock.unlock();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a batch to the budget in one step and queues it for the journal, where it shares
+     * the next drain's single fsync with anything else queued meanwhile.
+     */
+    public CompletableFuture<Void> addTransactions(List<Transaction> batch) {
+        commitLock.lock();
+        try {
+            budget.addTransactions(batch);
+            queueLock.lock();
+            try {
+                pendingAppends.addAll(batch);
+                return scheduleDrain();
+            } finally {
+                queueLock.unlock();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Requests a full snapshot (budget.bin) and truncation of the journal.
+     */
+    public CompletableFuture<Void> save() {
+        queueLock.lock();
+        try {
+            snapshotRequested = true;
+            return scheduleDrain();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Writes everything queued so far without waiting for the coalescing delay.
+     */
+    public CompletableFuture<Void> flush() {
+        queueLock.lock();
+        try {
+            drainScheduled = true;
+            writer.execute(this::drain);
+            return pendingResult;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes pending writes (waiting up to the timeout) and stops the writer thread.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        try {
+            flush().get(timeout, unit);
+        } catch (Exception e) {
+            System.err.println("Pending budget writes did not finish: " + e.getMessage());
+        }
+        writer.shutdown();
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    private CompletableFuture<Void> scheduleDrain() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            writer.schedule(this::drain, COALESCE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        return pendingResult;
+    }
+
+    private void drain() {
+        List<Transaction> batch;
+        boolean snapshot;
+        CompletableFuture<Void> result;
+        queueLock.lock();
+        try {
+            batch = pendingAppends;
+            pendingAppends = new ArrayList<>();
+            snapshot = snapshotRequested;
+            snapshotRequested = false;
+            result = pendingResult;
+            pendingResult = new CompletableFuture<>();
+            drainScheduled = false;
+        } finally {
+            queueLock.unlock();
+        }
+
+        try {
+            if (!snapshot) {
+                persistence.appendToJournal(batch);
+            }
+            if (snapshot || persistence.isSnapshotDue()) {
+                writeSnapshot();
+            }
+            queueLock.lock();
+            try {
+                consecutiveFailures = 0;
+            } finally {
+                queueLock.unlock();
+            }
+            result.complete(null);
+        } catch (Exception e) {
+            System.err.println("Background save failed: " + e.getMessage());
+            // The transactions are still in memory: retry with a full snapshot, backing off while it keeps failing
+            boolean firstFailure;
+            queueLock.lock();
+            try {
+                snapshotRequested = true;
+                firstFailure = consecutiveFailures++ == 0;
+                if (!drainScheduled) {
+                    drainScheduled = true;
+                    long delay = Math.min(MAX_RETRY_DELAY_MS, COALESCE_DELAY_MS << Math.min(consecutiveFailures, 20));
+                    writer.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                queueLock.unlock();
+            }
+            result.completeExceptionally(e);
+            // Report once per run of failures rather than on every retry
+            if (firstFailure) errorHandler.accept(e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        byte[] snapshot;
+        commitLock.lock();
+        try {
+            // Anything queued but not yet journaled is already in the budget, so the snapshot covers it
+            queueLock.lock();
+            try {
+                pendingAppends.clear();
+            } finally {
+                queueLock.unlock();
+            }
+            snapshot = persistence.captureSnapshot(budget);
+        } finally {
+            commitLock.unlock();
+        }
+        persistence.writeSnapshot(snapshot);
+    }
+}
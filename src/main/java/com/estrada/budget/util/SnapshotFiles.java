@@ -0,0 +1,246 @@
+package com.estrada.budget.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash-safe snapshot files.
+ *
+ * A save writes the whole payload to "name.tmp" through large buffered writes, appends a
+ * checksum footer, fsyncs once, then atomically renames it over the live file. The previous
+ * files are kept as rotated generations ("name.1" is the newest backup), so a crash at any
+ * point leaves at least one complete, verifiable snapshot on disk. Rotation only shifts files
+ * whose checksum verifies; a corrupt one is renamed to "name.corrupt-<timestamp>" rather than
+ * rotated over or out, so it stays available for recovery and never displaces a good backup.
+ *
+ * Footer (16 bytes, big-endian): long payloadLength, int crc32c(payload), int magic "EFBC".
+ */
+public class SnapshotFiles {
+
+    private static final int FOOTER_MAGIC = 0x45464243; // "EFBC"
+    private static final int FOOTER_LENGTH = 16;
+
+    private final int generations;
+
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        void write(WritableByteChannel out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface SnapshotReader<T> {
+        T read(ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * @param generations number of older snapshots to keep next to the live file
+     */
+    public SnapshotFiles(int generations) {
+        this.generations = generations;
+    }
+
+    public void write(Path target, SnapshotWriter body) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChecksumChannel checked = new ChecksumChannel(channel);
+            body.write(checked);
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_LENGTH)
+                    .putLong(checked.length)
+                    .putInt((int) checked.crc.getValue())
+                    .putInt(FOOTER_MAGIC)
+                    .flip();
+            while (footer.hasRemaining()) {
+                channel.write(footer);
+            }
+            channel.force(true);
+        }
+
+        rotate(target);
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Reads the newest snapshot whose checksum verifies and that the reader accepts,
+     * trying the live file first and then each generation. Corrupt files are left in place
+     * here; the next write moves them aside.
+     * Returns null if no readable snapshot exists.
+     */
+    public <T> T readNewestValid(Path target, SnapshotReader<T> reader) {
+        for (int generation = 0; generation <= generations; generation++) {
+            Path candidate = generation == 0 ? target : generationPath(target, generation);
+            if (!Files.exists(candidate)) continue;
+
+            try {
+                T result = read(candidate, reader);
+                if (generation > 0) {
+                    System.err.println("Recovered budget from older snapshot: " + candidate);
+                }
+                return result;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Skipping unreadable snapshot " + candidate + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    public Path generationPath(Path target, int generation) {
+        return target.resolveSibling(target.getFileName() + "." + generation);
+    }
+
+    private <T> T read(Path path, SnapshotReader<T> reader) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (size < FOOTER_LENGTH || file.getInt((int) size - 4) != FOOTER_MAGIC) {
+                // Written before checksums existed; the reader's own validation is all we have
+                return reader.read(file);
+            }
+
+            long length = file.getLong((int) size - FOOTER_LENGTH);
+            int expected = file.getInt((int) size - 8);
+            if (length != size - FOOTER_LENGTH) {
+                throw new IOException("Snapshot length mismatch (footer says " + length + " bytes)");
+            }
+
+            ByteBuffer payload = file.slice(0, (int) length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expected) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return reader.read(payload);
+        }
+    }
+
+    private void rotate(Path target) throws IOException {
+        if (generations <= 0) return;
+
+        // Newest first: the live file, then each generation that verifies; the rest go aside
+        List<Path> valid = new ArrayList<>();
+        for (int generation = 0; generation <= generations; generation++) {
+            Path candidate = generation == 0 ? target : generationPath(target, generation);
+            if (!Files.exists(candidate)) continue;
+            if (verifies(candidate)) {
+                valid.add(candidate);
+            } else {
+                moveAside(candidate);
+            }
+        }
+        if (valid.isEmpty()) return;
+        boolean liveValid = valid.get(0).equals(target);
+
+        // Older backups shift down past any gaps; park them first so no move overwrites another
+        List<Path> parked = new ArrayList<>();
+        for (Path backup : valid.subList(liveValid ? 1 : 0, valid.size())) {
+            Path park = backup.resolveSibling(backup.getFileName() + ".rotating");
+            Files.move(backup, park, StandardCopyOption.REPLACE_EXISTING);
+            parked.add(park);
+        }
+        int next = liveValid ? 2 : 1;
+        for (Path park : parked) {
+            if (next <= generations) {
+                Files.move(park, generationPath(target, next++), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(park);  // a valid backup older than the kept generations
+            }
+        }
+
+        if (liveValid) {
+            // Hard-link the live file as generation 1 so it stays in place until the atomic rename
+            Path newest = generationPath(target, 1);
+            Files.deleteIfExists(newest);
+            try {
+                Files.createLink(newest, target);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(target, newest, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    // Checksum check only: files written before footers existed can't be checked and count as valid
+    private static boolean verifies(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) return false;
+            ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < FOOTER_LENGTH || file.getInt((int) size - 4) != FOOTER_MAGIC) return true;
+            long length = file.getLong((int) size - FOOTER_LENGTH);
+            if (length != size - FOOTER_LENGTH) return false;
+            CRC32C crc = new CRC32C();
+            crc.update(file.slice(0, (int) length));
+            return (int) crc.getValue() == file.getInt((int) size - 8);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void moveAside(Path corrupt) throws IOException {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path aside = corrupt.resolveSibling(corrupt.getFileName() + ".corrupt-" + stamp);
+        for (int n = 2; Files.exists(aside); n++) {
+            aside = corrupt.resolveSibling(corrupt.getFileName() + ".corrupt-" + stamp + "-" + n);
+        }
+        Files.move(corrupt, aside);
+        System.err.println("Moved corrupt snapshot " + corrupt + " aside to " + aside);
+    }
+
+    private static void syncDirectory(Path dir) {
+        if (dir == null) return;
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the rename itself is still atomic
+        }
+    }
+
+    private static class ChecksumChannel implements WritableByteChannel {
+        private final WritableByteChannel delegate;
+        private final CRC32C crc = new CRC32C();
+        private long length = 0;
+
+        ChecksumChannel(WritableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer written = src.duplicate();
+            int n = delegate.write(src);
+            written.limit(written.position() + n);
+            crc.update(written);
+            length += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // The caller owns the underlying channel
+        }
+    }
+}
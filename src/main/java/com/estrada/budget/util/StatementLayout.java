@@ -0,0 +1,91 @@
+package com.estrada.budget.util;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Column layouts of the bank / credit-card CSV exports we import.
+ * Columns are located by header name, so extra or reordered columns in an export are fine.
+ * The marker phrases identify the same account's PDF statements.
+ */
+public enum StatementLayout {
+
+    // RBFCU checking: Post Date, Check, Description, Debit, Credit, Status, Balance
+    RBFCU("RBFCU Checking", "Post Date", "Description", null, "Debit", "Credit", false, false,
+            "Randolph-Brooks", "RBFCU"),
+
+    // Citi: Status, Date, Description, Debit, Credit
+    CITI("Citi Card", "Date", "Description", null, "Debit", "Credit", false, true,
+            "Citibank", "Citi Card", "citicards.com"),
+
+    // Sam's Club Mastercard (Synchrony): Transaction Date, Posting Date, Reference Number, Description, Amount
+    // Purchases are positive, payments and credits negative
+    SAMS_CLUB("Sam's Club Mastercard", "Transaction Date", "Description", "Amount", null, null, true, true,
+            "Sam's Club", "Synchrony");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
+
+    // "PAYMENT THANK YOU", "ONLINE PAYMENT", "AUTOPAY PYMT" ... on a card's credit side
+    private static final Pattern CARD_PAYMENT = Pattern.compile("(?i)\\b(?:payments?|pymt|autopay)\\b");
+
+    private final String accountName;
+    private final String dateHeader;
+    private final String descriptionHeader;
+    private final String amountHeader;
+    private final String debitHeader;
+    private final String creditHeader;
+    private final boolean positiveIsExpense;
+    private final boolean creditCard;
+    private final String[] statementMarkers;
+
+    StatementLayout(String accountName, String dateHeader, String descriptionHeader, String amountHeader,
+                    String debitHeader, String creditHeader, boolean positiveIsExpense, boolean creditCard,
+                    String... statementMarkers) {
+        this.accountName = accountName;
+        this.dateHeader = dateHeader;
+        this.descriptionHeader = descriptionHeader;
+        this.amountHeader = amountHeader;
+        this.debitHeader = debitHeader;
+        this.creditHeader = creditHeader;
+        this.positiveIsExpense = positiveIsExpense;
+        this.creditCard = creditCard;
+        this.statementMarkers = statementMarkers;
+    }
+
+    /** Matching BalanceItem name in the App's balances list. */
+    public String getAccountName() { return accountName; }
+    public String getDateHeader() { return dateHeader; }
+    public String getDescriptionHeader() { return descriptionHeader; }
+    public String getAmountHeader() { return amountHeader; }
+    public String getDebitHeader() { return debitHeader; }
+    public String getCreditHeader() { return creditHeader; }
+
+    /** For single signed-amount layouts: whether a positive amount is money going out. */
+    public boolean isPositiveExpense() { return positiveIsExpense; }
+
+    /** Credit-card statements list purchases as positive amounts and payments as negative. */
+    public boolean isCreditCard() { return creditCard; }
+
+    /**
+     * Whether a credit row on a card statement is a payment toward the card rather than a refund.
+     * Payments are skipped on import: the money already left checking as a Credit Card Payments
+     * expense, so counting the card side too would record it twice.
+     */
+    public static boolean isCardPayment(String description) {
+        return description != null && CARD_PAYMENT.matcher(description).find();
+    }
+
+    /** Finds the layout whose marker phrase appears in a statement's text, or null. */
+    public static StatementLayout detect(String statementText) {
+        String text = statementText.toLowerCase(Locale.ROOT);
+        for (StatementLayout layout : values()) {
+            for (String marker : layout.statementMarkers) {
+                if (text.contains(marker.toLowerCase(Locale.ROOT))) return layout;
+            }
+        }
+        return null;
+    }
+
+    public DateTimeFormatter getDateFormat() { return DATE_FORMAT; }
+}
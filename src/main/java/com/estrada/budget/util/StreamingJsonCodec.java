@@ -0,0 +1,286 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.BalanceItem;
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.Money;
+import com.estrada.budget.model.ScheduledPayment;
+import com.estrada.budget.model.Transaction;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Reads and writes the budget.json format with Jackson's token API, one transaction at a time,
+ * so neither a tree nor the whole document is ever held in memory.
+ *
+ * Output matches what ObjectMapper produced (dates as [year, month, day] arrays);
+ * input also accepts ISO date strings and the legacy double dollar fields.
+ */
+public class StreamingJsonCodec {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    public void write(Budget budget, OutputStream out) throws IOException {
+        // Writers wait until the export is complete, so it is consistent
+        Lock lock = budget.readLock();
+        lock.lock();
+        try {
+            try (JsonGenerator gen = factory.createGenerator(out, JsonEncoding.UTF8)) {
+                gen.useDefaultPrettyPrinter();
+                gen.writeStartObject();
+
+                YearMonth month = budget.getCurrentMonth();
+                gen.writeFieldName("currentMonth");
+                gen.writeStartArray();
+                gen.writeNumber(month.getYear());
+                gen.writeNumber(month.getMonthValue());
+                gen.writeEndArray();
+
+                gen.writeObjectFieldStart("categories");
+                for (Category c : budget.getCategories().values()) {
+                    gen.writeObjectFieldStart(c.getName());
+                    gen.writeStringField("name", c.getName());
+                    gen.writeNumberField("budgetedCents", c.getBudgetedCents());
+                    gen.writeNumberField("spentThisMonthCents", c.getSpentThisMonthCents());
+                    gen.writeEndObject();
+                }
+                gen.writeEndObject();
+
+                gen.writeArrayFieldStart("transactions");
+                for (Transaction t : budget.getTransactions()) {
+                    writeTransaction(gen, t);
+                }
+                gen.writeEndArray();
+
+                gen.writeArrayFieldStart("balances");
+                for (BalanceItem b : budget.getBalances()) {
+                    gen.writeStartObject();
+                    gen.writeStringField("name", b.getName());
+                    gen.writeNumberField("balanceCents", b.getBalanceCents());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+
+                gen.writeArrayFieldStart("scheduledPayments");
+                for (ScheduledPayment sp : budget.getScheduledPayments()) {
+                    writeScheduledPayment(gen, sp);
+                }
+                gen.writeEndArray();
+
+                gen.writeNumberField("journalSequence", budget.getJournalSequence());
+                gen.writeEndObject();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Budget read(InputStream in) throws IOException {
+        try (JsonParser p = factory.createParser(in)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT, p);
+            Budget budget = new Budget();
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "currentMonth" -> budget.setCurrentMonth(readYearMonth(p));
+                    case "journalSequence" -> budget.setJournalSequence(p.getLongValue());
+                    case "categories" -> {
+                        expect(value, JsonToken.START_OBJECT, p);
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String name = p.currentName();
+                            p.nextToken();
+                            budget.addCategory(readCategory(p, name));
+                        }
+                    }
+                    case "transactions" -> {
+                        expect(value, JsonToken.START_ARRAY, p);
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            budget.restoreTransaction(readTransaction(p));
+                        }
+                    }
+                    case "balances" -> {
+                        expect(value, JsonToken.START_ARRAY, p);
+                        List<BalanceItem> balances = new ArrayList<>();
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            balances.add(readBalance(p));
+                        }
+                        budget.setBalances(balances);
+                    }
+                    case "scheduledPayments" -> {
+                        expect(value, JsonToken.START_ARRAY, p);
+                        List<ScheduledPayment> payments = new ArrayList<>();
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            payments.add(readScheduledPayment(p));
+                        }
+                        budget.setScheduledPayments(payments);
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (budget.getCurrentMonth() == null) {
+                budget.setCurrentMonth(YearMonth.now());
+            }
+            return budget;
+        }
+    }
+
+    private void writeTransaction(JsonGenerator gen, Transaction t) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("amountCents", t.getAmountCents());
+        writeDateField(gen, "date", t.getDate());
+        gen.writeStringField("description", t.getDescription());
+        gen.writeStringField("type", t.getType() != null ? t.getType().name() : null);
+        gen.writeStringField("category", t.getCategory());
+        gen.writeBooleanField("recurring", t.isRecurring());
+        gen.writeStringField("recurrenceType", t.getRecurrenceType() != null ? t.getRecurrenceType().name() : null);
+        gen.writeEndObject();
+    }
+
+    private void writeScheduledPayment(JsonGenerator gen, ScheduledPayment sp) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("payee", sp.getPayee());
+        gen.writeNumberField("amountCents", sp.getAmountCents());
+        gen.writeStringField("type", sp.getType() != null ? sp.getType().name() : null);
+        writeDateField(gen, "dueDate", sp.getDueDate());
+        gen.writeStringField("recurrence", sp.getRecurrence() != null ? sp.getRecurrence().name() : null);
+        gen.writeStringField("note", sp.getNote());
+        writeDateField(gen, "paidThrough", sp.getPaidThrough());
+        gen.writeBooleanField("withheld", sp.isWithheld());
+        gen.writeEndObject();
+    }
+
+    private static void writeDateField(JsonGenerator gen, String name, LocalDate date) throws IOException {
+        if (date == null) return;
+        gen.writeFieldName(name);
+        gen.writeStartArray();
+        gen.writeNumber(date.getYear());
+        gen.writeNumber(date.getMonthValue());
+        gen.writeNumber(date.getDayOfMonth());
+        gen.writeEndArray();
+    }
+
+    private Category readCategory(JsonParser p, String name) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT, p);
+        Category c = new Category(name, 0);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "name" -> c.setName(p.getValueAsString(name));
+                case "budgetedCents" -> c.setBudgetedCents(p.getLongValue());
+                case "spentThisMonthCents" -> c.setSpentThisMonthCents(p.getLongValue());
+                case "budgetedAmount" -> c.setBudgetedCents(Money.toCents(p.getDoubleValue()));
+                case "spentThisMonth" -> c.setSpentThisMonthCents(Money.toCents(p.getDoubleValue()));
+                default -> p.skipChildren();
+            }
+        }
+        return c;
+    }
+
+    private BalanceItem readBalance(JsonParser p) throws IOException {
+        BalanceItem b = new BalanceItem();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "name" -> b.setName(p.getValueAsString());
+                case "balanceCents" -> b.setBalanceCents(p.getLongValue());
+                case "balance" -> b.setBalanceCents(Money.toCents(p.getDoubleValue()));
+                default -> p.skipChildren();
+            }
+        }
+        return b;
+    }
+
+    private ScheduledPayment readScheduledPayment(JsonParser p) throws IOException {
+        ScheduledPayment sp = new ScheduledPayment();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) continue;
+            switch (field) {
+                case "payee" -> sp.setPayee(p.getText());
+                case "amountCents" -> sp.setAmountCents(p.getLongValue());
+                case "type" -> sp.setType(Transaction.TransactionType.valueOf(p.getText()));
+                case "dueDate" -> sp.setDueDate(readDate(p));
+                case "recurrence" -> sp.setRecurrence(Transaction.RecurrenceType.valueOf(p.getText()));
+                case "note" -> sp.setNote(p.getText());
+                case "paidThrough" -> sp.setPaidThrough(readDate(p));
+                case "withheld" -> sp.setWithheld(p.getBooleanValue());
+                default -> p.skipChildren();
+            }
+        }
+        return sp;
+    }
+
+    private Transaction readTransaction(JsonParser p) throws IOException {
+        Transaction t = new Transaction();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) continue;
+            switch (field) {
+                case "amountCents" -> t.setAmountCents(p.getLongValue());
+                case "amount" -> t.setAmountCents(Money.toCents(p.getDoubleValue()));
+                case "date" -> t.setDate(readDate(p));
+                case "description" -> t.setDescription(p.getText());
+                case "type" -> t.setType(Transaction.TransactionType.valueOf(p.getText()));
+                case "category" -> t.setCategory(p.getText());
+                case "recurring" -> t.setRecurring(p.getBooleanValue());
+                case "recurrenceType" -> t.setRecurrenceType(Transaction.RecurrenceType.valueOf(p.getText()));
+                default -> p.skipChildren();
+            }
+        }
+        return t;
+    }
+
+    private static LocalDate readDate(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            return LocalDate.parse(p.getText());
+        }
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        int year = nextInt(p), month = nextInt(p), day = nextInt(p);
+        expect(p.nextToken(), JsonToken.END_ARRAY, p);
+        return LocalDate.of(year, month, day);
+    }
+
+    private static YearMonth readYearMonth(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            return YearMonth.parse(p.getText());
+        }
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        int year = nextInt(p), month = nextInt(p);
+        expect(p.nextToken(), JsonToken.END_ARRAY, p);
+        return YearMonth.of(year, month);
+    }
+
+    private static int nextInt(JsonParser p) throws IOException {
+        expect(p.nextToken(), JsonToken.VALUE_NUMBER_INT, p);
+        return p.getIntValue();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser p) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual
+                    + " at " + p.currentLocation());
+        }
+    }
+}
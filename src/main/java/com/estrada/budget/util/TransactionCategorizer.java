@@ -0,0 +1,268 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Picks a Budget category for a statement description.
+ *
+ * Categories chosen by hand are remembered per normalized description and win first. Otherwise
+ * every merchant keyword is matched in one pass over the description by an Aho–Corasick automaton
+ * compiled once from the rules (case-insensitive, whole words only); the longest keyword found
+ * wins, ties going to the earlier rule. Returns null when nothing matches, so callers fall back
+ * to their default category.
+ *
+ * Thread-safe: the automaton is immutable and the learned map is concurrent, so the parallel
+ * importers can share one instance.
+ */
+public class TransactionCategorizer implements Function<String, String> {
+
+    private static final int ALPHABET = 128; // keywords are ASCII; other characters reset the match
+
+    // Catch-all categories carry no signal about a merchant, so choosing them is not learned
+    private static final Set<String> UNLEARNED = Set.of("Miscellaneous", "Tax Refunds / Other Income");
+
+    private final String[] ruleCategories;
+    private final int[] ruleLengths;
+
+    // Dense DFA: next[state * ALPHABET + c]; ruleAt = keyword ending at a state (-1 if none);
+    // outputLink = nearest suffix state that also ends a keyword (-1 if none)
+    private final int[] next;
+    private final int[] ruleAt;
+    private final int[] outputLink;
+
+    private final Map<String, String> learned = new ConcurrentHashMap<>();
+
+    /**
+     * @param rules keyword → category name, in priority order
+     */
+    public TransactionCategorizer(Map<String, String> rules) {
+        ruleCategories = new String[rules.size()];
+        ruleLengths = new int[rules.size()];
+
+        // Build the trie
+        List<int[]> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(newRow());
+        terminal.add(-1);
+        int rule = 0;
+        for (Map.Entry<String, String> entry : rules.entrySet()) {
+            String keyword = entry.getKey().trim();
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Empty categorizer keyword for " + entry.getValue());
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int c = fold(keyword.charAt(i));
+                if (c < 0) {
+                    throw new IllegalArgumentException("Categorizer keywords must be ASCII: " + keyword);
+                }
+                if (children.get(state)[c] < 0) {
+                    children.get(state)[c] = children.size();
+                    children.add(newRow());
+                    terminal.add(-1);
+                }
+                state = children.get(state)[c];
+            }
+            if (terminal.get(state) < 0) terminal.set(state, rule); // first rule for a keyword wins
+            ruleCategories[rule] = entry.getValue();
+            ruleLengths[rule] = keyword.length();
+            rule++;
+        }
+
+        // Breadth-first: fill failure transitions into a complete DFA and chain the outputs
+        int states = children.size();
+        next = new int[states * ALPHABET];
+        ruleAt = new int[states];
+        outputLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            ruleAt[s] = terminal.get(s);
+        }
+        outputLink[0] = -1;
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = children.get(0)[c];
+            if (child < 0) {
+                next[c] = 0;
+            } else {
+                next[c] = child;
+                fail[child] = 0;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = children.get(state)[c];
+                if (child < 0) {
+                    next[state * ALPHABET + c] = next[fail[state] * ALPHABET + c];
+                } else {
+                    next[state * ALPHABET + c] = child;
+                    int f = next[fail[state] * ALPHABET + c];
+                    fail[child] = f;
+                    outputLink[child] = ruleAt[f] >= 0 ? f : outputLink[f];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * A categorizer preloaded with the merchants that show up on the family's statements.
+     */
+    public static TransactionCategorizer withDefaultRules() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("T-MOBILE", "T-Mobile");
+        rules.put("TMOBILE", "T-Mobile");
+        rules.put("BANFIELD", "Pet Care");
+        rules.put("PETSMART", "Pet Care");
+        rules.put("PETCO", "Pet Care");
+        rules.put("CHEWY", "Pet Care");
+        rules.put("HEB", "Groceries");
+        rules.put("H-E-B", "Groceries");
+        rules.put("WALMART", "Groceries");
+        rules.put("WAL-MART", "Groceries");
+        rules.put("SAMS CLUB", "Groceries");
+        rules.put("SAMSCLUB", "Groceries");
+        rules.put("COSTCO", "Groceries");
+        rules.put("AMAZON", "Amazon / Online Shopping");
+        rules.put("AMZN", "Amazon / Online Shopping");
+        rules.put("NETFLIX", "Subscriptions & Streaming");
+        rules.put("SPOTIFY", "Subscriptions & Streaming");
+        rules.put("HULU", "Subscriptions & Streaming");
+        rules.put("DISNEY PLUS", "Subscriptions & Streaming");
+        rules.put("DISNEYPLUS", "Subscriptions & Streaming");
+        rules.put("YOUTUBE", "Subscriptions & Streaming");
+        rules.put("APPLE.COM/BILL", "Subscriptions & Streaming");
+        rules.put("MCDONALD", "Dining Out / Fast Food");
+        rules.put("MCDONALD'S", "Dining Out / Fast Food");
+        rules.put("WHATABURGER", "Dining Out / Fast Food");
+        rules.put("CHICK-FIL-A", "Dining Out / Fast Food");
+        rules.put("SONIC", "Dining Out / Fast Food");
+        rules.put("TACO BELL", "Dining Out / Fast Food");
+        rules.put("STARBUCKS", "Dining Out / Fast Food");
+        rules.put("DOORDASH", "Dining Out / Fast Food");
+        rules.put("TXU", "Utilities");
+        rules.put("ATMOS", "Utilities");
+        rules.put("SPECTRUM", "Utilities");
+        rules.put("WATER", "Utilities");
+        rules.put("ELECTRIC", "Utilities");
+        rules.put("TRIWEST", "Health Insurance / TriWest");
+        rules.put("SBP", "SBP Costs");
+        rules.put("MORTGAGE", "Mortgage");
+        rules.put("SYNCHRONY", "Credit Card Payments");
+        rules.put("SYNCB", "Credit Card Payments");
+        rules.put("CITI CARD", "Credit Card Payments");
+        rules.put("CITI AUTOPAY", "Credit Card Payments");
+        rules.put("DFAS", "Javier's Military Retirement");
+        rules.put("IRS TREAS", "Tax Refunds / Other Income");
+        return new TransactionCategorizer(rules);
+    }
+
+    /**
+     * Category for the description, or null if neither a learned entry nor a rule matches.
+     */
+    @Override
+    public String apply(String description) {
+        if (description == null || description.isEmpty()) return null;
+        if (!learned.isEmpty()) {
+            String category = learned.get(normalize(description));
+            if (category != null) return category;
+        }
+        return match(description);
+    }
+
+    /**
+     * Rule match only, ignoring learned entries.
+     */
+    public String match(String description) {
+        int best = -1;
+        int state = 0;
+        for (int i = 0; i < description.length(); i++) {
+            int c = fold(description.charAt(i));
+            state = c < 0 ? 0 : next[state * ALPHABET + c];
+            for (int s = ruleAt[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                int rule = ruleAt[s];
+                if (isBetter(rule, best) && isWholeWord(description, i - ruleLengths[rule] + 1, i + 1)) {
+                    best = rule;
+                }
+            }
+        }
+        return best >= 0 ? ruleCategories[best] : null;
+    }
+
+    /**
+     * Remembers a category chosen by hand for future descriptions that normalize the same way.
+     */
+    public void learn(String description, String category) {
+        if (description == null || category == null || UNLEARNED.contains(category)) return;
+        String key = normalize(description);
+        if (!key.isEmpty()) learned.put(key, category);
+    }
+
+    /**
+     * Learns from existing history, oldest first, so the latest choice for a description wins.
+     */
+    public void learnFrom(Iterable<Transaction> history) {
+        for (Transaction t : history) {
+            learn(t.getDescription(), t.getCategory());
+        }
+    }
+
+    public int learnedCount() {
+        return learned.size();
+    }
+
+    private boolean isBetter(int rule, int best) {
+        if (best < 0) return true;
+        if (ruleLengths[rule] != ruleLengths[best]) return ruleLengths[rule] > ruleLengths[best];
+        return rule < best;
+    }
+
+    private static boolean isWholeWord(String text, int start, int end) {
+        return (start == 0 || !Character.isLetter(text.charAt(start - 1)))
+                && (end == text.length() || !Character.isLetter(text.charAt(end)));
+    }
+
+    // Upper-cased ASCII code, or -1 for characters no keyword can contain
+    private static int fold(char ch) {
+        if (ch >= ALPHABET) return -1;
+        return ch >= 'a' && ch <= 'z' ? ch - ('a' - 'A') : ch;
+    }
+
+    // "H-E-B #0123 Austin TX 01/15" → "H E B AUSTIN TX": store numbers and dates vary per visit
+    static String normalize(String description) {
+        StringBuilder key = new StringBuilder(description.length());
+        boolean gap = false;
+        for (int i = 0; i < description.length(); i++) {
+            char ch = description.charAt(i);
+            if (Character.isLetter(ch)) {
+                if (gap && key.length() > 0) key.append(' ');
+                key.append(Character.toUpperCase(ch));
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        return key.toString();
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,249 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Append-only write-ahead log of transactions added since the last snapshot.
+ * Each record is one compact JSON line: {"seq":N,"txn":{...}}, fsync'd on append,
+ * so recording a transaction costs one small write regardless of history size.
+ *
+ * Only the last record can legitimately be damaged (a crash mid-append). replay() tolerates
+ * that one and leaves the file alone; the first write afterwards copies the journal aside
+ * (budget.journal.corrupt-<timestamp>) and cuts the torn record off, so new records never
+ * end up glued to it. An unreadable record anywhere else fails the load.
+ */
+public class TransactionJournal {
+
+    private final Path path;
+    private final Supplier<ObjectMapper> mapper;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    private FileChannel channel;
+    private long lastSequence = 0;
+    private int pendingEntries = 0;
+    // Set by replay() when the last record was torn: where the good records end (-1 = intact)
+    private long tornTailOffset = -1;
+    // Set by replay() when the last record is complete but its newline never made it to disk
+    private boolean missingNewline = false;
+
+    /**
+     * The mapper is only requested on the first append or on replay of an existing journal,
+     * so opening a budget with an empty journal never pays for Jackson databind setup.
+     */
+    public TransactionJournal(Path path, Supplier<ObjectMapper> mapper) {
+        this.path = path;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Appends one transaction and forces it to disk before returning.
+     */
+    public synchronized void append(Transaction t) throws IOException {
+        appendAll(List.of(t));
+    }
+
+    /**
+     * Appends a batch of transactions with a single write and a single fsync.
+     */
+    public synchronized void appendAll(List<Transaction> batch) throws IOException {
+        if (batch.isEmpty()) return;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * batch.size());
+        if (tornTailOffset >= 0) {
+            setAsideTornTail();
+        } else if (missingNewline) {
+            out.write('\n');
+        }
+        long seq = lastSequence;
+        ObjectWriter writer = writer();
+        for (Transaction t : batch) {
+            writer.writeValue(out, new Entry(++seq, t));
+            out.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+        FileChannel ch = channel();
+        while (buffer.hasRemaining()) {
+            ch.write(buffer);
+        }
+        ch.force(false);
+
+        lastSequence = seq;
+        pendingEntries += batch.size();
+        missingNewline = false;
+    }
+
+    /**
+     * Re-applies every record newer than the snapshot's journal sequence to the budget.
+     * A torn final record (crash mid-append) is skipped, and everything before it is kept.
+     * Any other unreadable record (bad JSON or bad UTF-8) throws, and the file is left as it is.
+     * Returns the number of transactions replayed.
+     */
+    public synchronized int replay(Budget budget) throws IOException {
+        lastSequence = Math.max(lastSequence, budget.getJournalSequence());
+        pendingEntries = 0;
+        tornTailOffset = -1;
+        missingNewline = false;
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        ObjectReader reader = reader();
+        int replayed = 0;
+        // Lines are parsed from raw bytes, so malformed UTF-8 is an unreadable record like any other
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long offset = 0;        // file offset of the current line's first byte
+        long lineStart = 0;
+        int lineNumber = 0;
+        long badOffset = -1;    // first unreadable record, only forgivable if nothing follows it
+        int badLine = 0;
+        String badReason = null;
+        boolean lastTerminated = true;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            int b;
+            do {
+                b = in.read();
+                if (b >= 0 && b != '\n') {
+                    line.write(b);
+                    offset++;
+                    continue;
+                }
+                if (b == '\n') offset++;
+                lineNumber++;
+                byte[] bytes = line.toByteArray();
+                line.reset();
+                if (!isBlank(bytes)) {
+                    if (badOffset >= 0) {
+                        throw new IOException("Journal " + path + " has an unreadable record on line " + badLine
+                                + " (" + badReason + "); the file was left untouched");
+                    }
+                    lastTerminated = b == '\n';
+                    Entry entry;
+                    try {
+                        entry = reader.readValue(bytes);
+                    } catch (IOException e) {
+                        badOffset = lineStart;
+                        badLine = lineNumber;
+                        badReason = String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+                        lineStart = offset;
+                        continue;
+                    }
+                    if (entry.seq() > budget.getJournalSequence() && entry.txn() != null) {
+                        budget.addTransaction(entry.txn());
+                        lastSequence = Math.max(lastSequence, entry.seq());
+                        pendingEntries++;
+                        replayed++;
+                    }
+                }
+                lineStart = offset;
+            } while (b >= 0);
+        }
+
+        if (badOffset >= 0) {
+            System.err.println("Ignoring torn last journal record on line " + badLine + ": " + badReason);
+            tornTailOffset = badOffset;
+        } else {
+            missingNewline = !lastTerminated;
+        }
+        return replayed;
+    }
+
+    /**
+     * Called just before writing a snapshot that contains every journaled transaction.
+     * Records the folded sequence on the budget; truncate() follows once the snapshot is on disk.
+     */
+    public synchronized void markSnapshot(Budget budget) {
+        budget.setJournalSequence(lastSequence);
+    }
+
+    public synchronized void truncate() throws IOException {
+        if (tornTailOffset >= 0) {
+            setAsideTornTail();
+        }
+        missingNewline = false;
+        channel().truncate(0);
+        channel().force(true);
+        pendingEntries = 0;
+    }
+
+    /** Number of records in the log that are not yet part of a snapshot. */
+    public synchronized int getPendingEntries() {
+        return pendingEntries;
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Keeps a copy of the journal with its torn record, then cuts that record off. Only called on
+    // the way to a write, i.e. in the process holding the data directory lock.
+    private void setAsideTornTail() throws IOException {
+        Path copy = path.resolveSibling(path.getFileName() + ".corrupt-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+        channel().truncate(tornTailOffset);
+        channel().force(true);
+        System.err.println("Copied the journal with its torn last record to " + copy);
+        tornTailOffset = -1;
+    }
+
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') return false;
+        }
+        return true;
+    }
+
+    private ObjectWriter writer() {
+        if (writer == null) {
+            writer = mapper.get().writerFor(Entry.class);
+        }
+        return writer;
+    }
+
+    private ObjectReader reader() {
+        if (reader == null) {
+            reader = mapper.get().readerFor(Entry.class);
+        }
+        return reader;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    record Entry(long seq, Transaction txn) {
+    }
+}
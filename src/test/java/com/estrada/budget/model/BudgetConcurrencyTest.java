@@ -0,0 +1,127 @@
+package com.estrada.budget.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many threads adding to one Budget while others read. The budget's clock is pinned to a fixed
+ * month, so the expected totals don't depend on when (or across which midnight) it runs.
+ */
+class BudgetConcurrencyTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    private static final String CATEGORY = "Groceries";
+    private static final long AMOUNT = 1_37;
+    private static final int WRITERS = 8;
+    private static final int READERS = 2;
+    private static final int ADDS_PER_WRITER = 5_000;
+    private static final int BATCH = 50;
+
+    @Test
+    void concurrentAddsAreNeitherLostNorTorn() throws Exception {
+        Budget budget = new Budget();
+        budget.setClock(Clock.fixed(MONTH.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        budget.setCurrentMonth(MONTH);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    // Half the writers add one at a time, the other half in batches
+                    if (writer % 2 == 0) {
+                        for (int i = 0; i < ADDS_PER_WRITER; i++) {
+                            budget.addTransaction(expense(i));
+                        }
+                    } else {
+                        for (int i = 0; i < ADDS_PER_WRITER; i += BATCH) {
+                            List<Transaction> batch = new ArrayList<>(BATCH);
+                            for (int k = i; k < i + BATCH; k++) batch.add(expense(k));
+                            budget.addTransactions(batch);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        MonthlySummary summary = budget.summarize(MONTH);
+                        // Every row is a Groceries expense: a consistent summary has both equal
+                        assertEquals(summary.expenseCents(), summary.spent(CATEGORY), "torn summary");
+                        assertEquals(0, summary.expenseCents() % AMOUNT, "partially applied row");
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> f : writers) f.get(60, TimeUnit.SECONDS);
+            writing.set(false);
+            for (Future<?> f : readers) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long rows = (long) WRITERS * ADDS_PER_WRITER;
+        MonthlySummary summary = budget.summarize(MONTH);
+        assertEquals(rows * AMOUNT, summary.expenseCents());
+        assertEquals(rows * AMOUNT, summary.spent(CATEGORY));
+        assertEquals(rows * AMOUNT, budget.getCategories().get(CATEGORY).getSpentThisMonthCents());
+        assertEquals(0, summary.incomeCents());
+        assertEquals(rows, budget.getTransactions().size());
+        assertTrue(budget.verifyTotals(), "running totals disagree with the rows");
+    }
+
+    @Test
+    void dueDateQueriesWorkUnderTheReadLock() {
+        Budget budget = new Budget();
+        Transaction netflix = new Transaction(15_99, LocalDate.of(2025, 3, 3), "Netflix",
+                Transaction.TransactionType.EXPENSE, "Subscriptions & Streaming");
+        netflix.setRecurring(true);
+        netflix.setRecurrenceType(Transaction.RecurrenceType.MONTHLY);
+        budget.addTransaction(netflix);
+        LocalDate from = LocalDate.of(2026, 4, 1);  // the seeded schedule starts in January 2026
+        LocalDate to = from.plusMonths(3);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            Lock lock = budget.readLock();
+            lock.lock();
+            try {
+                assertEquals(3, budget.recurringDueBetween(from, to).size());
+                assertTrue(budget.scheduledDueBetween(from, to).size() > 0);
+                assertEquals(budget.getScheduledPayments().size(), budget.scheduledByDueDate(from).size());
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static Transaction expense(int i) {
+        return new Transaction(AMOUNT, MONTH.atDay(1 + i % MONTH.lengthOfMonth()), "HEB #0412 SALADO TX",
+                Transaction.TransactionType.EXPENSE, CATEGORY);
+    }
+}
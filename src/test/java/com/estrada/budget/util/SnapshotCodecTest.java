@@ -0,0 +1,112 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Category;
+import com.estrada.budget.model.ScheduledPayment;
+import com.estrada.budget.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BinarySnapshot and StreamingJsonCodec must each give back the budget they were handed.
+ */
+class SnapshotCodecTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        Budget budget = sampleBudget();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinarySnapshot().write(budget, Channels.newChannel(out));
+
+        assertSameBudget(budget, new BinarySnapshot().read(ByteBuffer.wrap(out.toByteArray())));
+    }
+
+    @Test
+    void jsonRoundTrip() throws IOException {
+        Budget budget = sampleBudget();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingJsonCodec().write(budget, out);
+
+        assertSameBudget(budget, new StreamingJsonCodec().read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    // The seeded categories and schedule (including the withheld DFAS deductions), plus a bit of everything else
+    private static Budget sampleBudget() {
+        Budget budget = new Budget();
+        budget.setClock(Clock.fixed(MONTH.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        budget.setCurrentMonth(MONTH);
+        budget.setJournalSequence(42);
+        budget.addTransactions(List.of(
+                new Transaction(45_12, MONTH.atDay(2), "HEB #0412 SALADO TX", Transaction.TransactionType.EXPENSE, "Groceries"),
+                new Transaction(3_214_55, MONTH.atDay(1), "DFAS NET PAY", Transaction.TransactionType.INCOME,
+                        "Javier's Military Retirement"),
+                new Transaction(-20_00, MONTH.atDay(9), "AMAZON MKTPLACE REFUND", Transaction.TransactionType.EXPENSE,
+                        "Amazon / Online Shopping"),
+                new Transaction(12_40, MONTH.minusMonths(2).atDay(28), "Café Olé — ☕", Transaction.TransactionType.EXPENSE,
+                        "Dining Out / Fast Food")));
+        Transaction netflix = new Transaction(15_99, MONTH.atDay(3), "Netflix", Transaction.TransactionType.EXPENSE,
+                "Subscriptions & Streaming");
+        netflix.setRecurring(true);
+        netflix.setRecurrenceType(Transaction.RecurrenceType.MONTHLY);
+        budget.addTransaction(netflix);
+        budget.updateBalance("RBFCU Checking", 3_581_20);
+        budget.updateBalance("Citi Card", -412_07);
+        budget.markPaidThrough(budget.getScheduledPayments().get(0), LocalDate.of(2026, 1, 31));
+        return budget;
+    }
+
+    private static void assertSameBudget(Budget expected, Budget actual) {
+        assertEquals(expected.getCurrentMonth(), actual.getCurrentMonth());
+        assertEquals(expected.getJournalSequence(), actual.getJournalSequence());
+        assertEquals(categories(expected), categories(actual));
+        assertEquals(transactions(expected), transactions(actual));
+        assertEquals(balances(expected), balances(actual));
+        assertEquals(scheduled(expected), scheduled(actual));
+        assertTrue(actual.getScheduledPayments().stream().anyMatch(ScheduledPayment::isWithheld));
+        assertTrue(actual.verifyTotals());
+    }
+
+    private static TreeMap<String, String> categories(Budget budget) {
+        TreeMap<String, String> rows = new TreeMap<>();
+        for (Category c : budget.getCategories().values()) {
+            rows.put(c.getName(), c.getBudgetedCents() + "/" + c.getSpentThisMonthCents());
+        }
+        return rows;
+    }
+
+    private static List<String> transactions(Budget budget) {
+        return budget.getTransactions().stream()
+                .map(t -> String.join("|", String.valueOf(t.getAmountCents()), String.valueOf(t.getDate()),
+                        t.getDescription(), String.valueOf(t.getType()), t.getCategory(),
+                        String.valueOf(t.isRecurring()), String.valueOf(t.getRecurrenceType())))
+                .toList();
+    }
+
+    private static List<String> balances(Budget budget) {
+        return budget.getBalances().stream().map(b -> b.getName() + "=" + b.getBalanceCents()).toList();
+    }
+
+    private static List<String> scheduled(Budget budget) {
+        return budget.getScheduledPayments().stream()
+                .map(p -> String.join("|", p.getPayee(), String.valueOf(p.getAmountCents()), String.valueOf(p.getType()),
+                        String.valueOf(p.getDueDate()), String.valueOf(p.getRecurrence()), String.valueOf(p.getNote()),
+                        String.valueOf(p.getPaidThrough()), String.valueOf(p.isWithheld())))
+                .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.estrada.budget.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rotation keeps only verifiable generations; corrupt files are moved aside, never rotated over a good one.
+ */
+class SnapshotFilesTest {
+
+    private static final int GENERATIONS = 3;
+
+    @TempDir
+    Path dir;
+
+    private final SnapshotFiles files = new SnapshotFiles(GENERATIONS);
+
+    @Test
+    void corruptGenerationIsMovedAsideAndGoodOnesKeepTheirOrder() throws IOException {
+        Path target = dir.resolve("budget.bin");
+        for (int i = 1; i <= 4; i++) write(target, "snapshot " + i);
+        // Now: live = 4, .1 = 3, .2 = 2, .3 = 1; flip a payload byte in .2
+        Path second = files.generationPath(target, 2);
+        byte[] damaged = Files.readAllBytes(second);
+        damaged[0] ^= 0x7F;
+        Files.write(second, damaged);
+
+        write(target, "snapshot 5");
+
+        assertEquals("snapshot 5", read(target));
+        assertEquals("snapshot 4", read(files.generationPath(target, 1)));
+        assertEquals("snapshot 3", read(files.generationPath(target, 2)));
+        assertEquals("snapshot 1", read(files.generationPath(target, 3)));
+        List<Path> aside = corruptFiles();
+        assertEquals(1, aside.size());
+        assertArrayEquals(damaged, Files.readAllBytes(aside.get(0)), "the corrupt file is kept as it was");
+    }
+
+    @Test
+    void readFallsBackPastACorruptLiveFile() throws IOException {
+        Path target = dir.resolve("budget.bin");
+        write(target, "good");
+        write(target, "newer");
+        byte[] live = Files.readAllBytes(target);
+        live[0] ^= 0x7F;
+        Files.write(target, live);
+
+        assertEquals("good", read(target));
+        assertTrue(corruptFiles().isEmpty(), "reading never moves files; the next write does");
+    }
+
+    private void write(Path target, String payload) throws IOException {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        files.write(target, out -> out.write(ByteBuffer.wrap(bytes)));
+    }
+
+    private String read(Path file) {
+        return files.readNewestValid(file, SnapshotFilesTest::decode);
+    }
+
+    private static String decode(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> corruptFiles() throws IOException {
+        try (Stream<Path> list = Files.list(dir)) {
+            return list.filter(p -> p.getFileName().toString().contains(".corrupt-")).toList();
+        }
+    }
+}
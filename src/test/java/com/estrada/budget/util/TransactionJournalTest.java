@@ -0,0 +1,98 @@
+package com.estrada.budget.util;
+
+import com.estrada.budget.model.Budget;
+import com.estrada.budget.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay of a journal damaged by a crash (torn last record) versus one damaged anywhere else.
+ */
+class TransactionJournalTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @TempDir
+    Path dir;
+
+    private Path path;
+    private TransactionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        path = dir.resolve("budget.journal");
+        journal = new TransactionJournal(path, () -> MAPPER);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void tornLastRecordIsSkippedThenCutOffByTheNextAppend() throws IOException {
+        journal.appendAll(List.of(expense("HEB", 45_12), expense("Netflix", 15_99)));
+        journal.close();
+        // A crash mid-append leaves half a record with no newline
+        Files.writeString(path, "{\"seq\":3,\"txn\":{\"amountCents\":7", StandardOpenOption.APPEND);
+        long torn = Files.size(path);
+
+        journal = new TransactionJournal(path, () -> MAPPER);
+        Budget budget = new Budget();
+        int before = budget.getTransactions().size();
+        assertEquals(2, journal.replay(budget));
+        assertEquals(before + 2, budget.getTransactions().size());
+        assertEquals(torn, Files.size(path), "replay must leave the file alone");
+
+        journal.append(expense("Whataburger", 12_40));
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).startsWith("{\"seq\":3,"), lines.get(2));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("budget.journal.corrupt-")).count(),
+                    "the torn journal is copied aside before it is cut");
+        }
+
+        journal.close();
+        journal = new TransactionJournal(path, () -> MAPPER);
+        assertEquals(3, journal.replay(new Budget()));
+    }
+
+    @Test
+    void unreadableRecordBeforeTheLastFailsTheLoad() throws IOException {
+        journal.appendAll(List.of(expense("HEB", 45_12)));
+        journal.close();
+        Files.writeString(path, "not json\n", StandardOpenOption.APPEND);
+        journal = new TransactionJournal(path, () -> MAPPER);
+        journal.appendAll(List.of(expense("Netflix", 15_99)));
+        journal.close();
+        byte[] damaged = Files.readAllBytes(path);
+
+        journal = new TransactionJournal(path, () -> MAPPER);
+        IOException e = assertThrows(IOException.class, () -> journal.replay(new Budget()));
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+        assertEquals(damaged.length, Files.size(path), "a failed load must not touch the journal");
+    }
+
+    private static Transaction expense(String description, long cents) {
+        return new Transaction(cents, DAY, description, Transaction.TransactionType.EXPENSE, "Miscellaneous");
+    }
+}